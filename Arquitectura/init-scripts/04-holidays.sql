@@ -0,0 +1,12 @@
+-- Holidays table
+-- Club closure days used to flag conflicts when generating recurring sessions
+
+USE turnero_db;
+
+CREATE TABLE IF NOT EXISTS holidays (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    date DATE NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY unique_holiday_date (date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,7 @@
+-- Indexes backing trainer and location double-booking checks
+-- Overlap queries filter by (trainer_id | location, date) and range-scan start_time
+
+USE turnero_db;
+
+CREATE INDEX idx_trainer_schedule ON training_sessions (trainer_id, date, start_time);
+CREATE INDEX idx_location_schedule ON training_sessions (location, date, start_time);
@@ -0,0 +1,22 @@
+-- Refresh tokens table
+-- One row per issued refresh token; tokens rotated from the same login share a family_id
+
+USE turnero_db;
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    jti VARCHAR(36) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at DATETIME NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    revocation_reason ENUM('ROTATED', 'LOGOUT', 'REUSE_DETECTED') NULL,
+    revoked_at DATETIME NULL,
+    replaced_by VARCHAR(36) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE RESTRICT,
+    UNIQUE KEY unique_refresh_jti (jti),
+    INDEX idx_refresh_family (family_id),
+    INDEX idx_refresh_revocation (revocation_reason, expires_at),
+    INDEX idx_refresh_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,24 @@
+-- Change log for incremental client sync (GET /api/changes)
+-- One row per committed session or booking change. Tokens come from change_log_sequence and
+-- become visible in order without gaps. Since 11-change-log-pending-tokens.sql they are assigned
+-- in a short transaction after the writer commits, so writers no longer hold its lock until commit.
+
+USE turnero_db;
+
+CREATE TABLE IF NOT EXISTS change_log_sequence (
+    id TINYINT PRIMARY KEY,
+    last_token BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT IGNORE INTO change_log_sequence (id, last_token) VALUES (1, 0);
+
+CREATE TABLE IF NOT EXISTS change_log (
+    token BIGINT PRIMARY KEY,
+    entity_type ENUM('SESSION', 'BOOKING') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    user_id BIGINT NULL,
+    change_type ENUM('UPSERT', 'DELETE') NOT NULL,
+    changed_at DATETIME NOT NULL,
+    INDEX idx_change_log_user (user_id, token),
+    INDEX idx_change_log_changed_at (changed_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,7 @@
+-- Series bookings (POST /api/bookings/series) send one summary notification per series
+
+USE turnero_db;
+
+ALTER TABLE notification_logs
+    MODIFY event_type ENUM('BOOKING_CONFIRMED', 'BOOKING_SERIES_CONFIRMED', 'BOOKING_CANCELLED', 'SESSION_MODIFIED',
+                           'SESSION_CANCELLED', 'REMINDER_24H') NOT NULL;
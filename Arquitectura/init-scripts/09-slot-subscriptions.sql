@@ -0,0 +1,19 @@
+-- Slot subscriptions table
+-- Members subscribed to a slot configuration are booked into every session generated from it.
+-- last_booked_at orders subscribers when a session has fewer seats than subscribers.
+
+USE turnero_db;
+
+CREATE TABLE IF NOT EXISTS slot_subscriptions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    slot_config_id BIGINT NOT NULL,
+    last_booked_at DATETIME NULL,
+    is_deleted BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE RESTRICT,
+    FOREIGN KEY (slot_config_id) REFERENCES slot_configurations(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_slot_subscription (user_id, slot_config_id),
+    INDEX idx_slot_subscription_config (slot_config_id, is_deleted, last_booked_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
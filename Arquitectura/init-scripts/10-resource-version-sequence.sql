@@ -0,0 +1,8 @@
+-- Shared counter behind the ETags of session and booking reads
+-- Every committed change takes the next value after commit and every backend instance applies it,
+-- so instances agree on ETags. The counter starts from the current time in milliseconds, so a
+-- recreated database does not hand out versions that clients may still have cached.
+
+USE turnero_db;
+
+INSERT IGNORE INTO change_log_sequence (id, last_token) VALUES (2, UNIX_TIMESTAMP() * 1000);
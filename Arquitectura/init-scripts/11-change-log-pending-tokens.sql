@@ -0,0 +1,27 @@
+-- Change log entries are inserted without a token, so writers no longer lock change_log_sequence
+-- until commit. After the writer commits, a short transaction locks row 1 of change_log_sequence and
+-- gives the committed entries that have none the next tokens in insertion order, so tokens still
+-- become visible in order and without gaps. Entry IDs come from change_log_id_sequence in blocks,
+-- which keeps bulk inserts batched.
+
+USE turnero_db;
+
+ALTER TABLE change_log
+    DROP PRIMARY KEY,
+    ADD COLUMN id BIGINT NULL FIRST;
+
+UPDATE change_log SET id = token;
+
+ALTER TABLE change_log
+    MODIFY id BIGINT NOT NULL,
+    ADD PRIMARY KEY (id),
+    MODIFY token BIGINT NULL,
+    ADD UNIQUE INDEX uk_change_log_token (token);
+
+CREATE TABLE IF NOT EXISTS change_log_id_sequence (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT IGNORE INTO change_log_id_sequence (sequence_name, next_val)
+SELECT 'change_log', COALESCE(MAX(id), 0) + 1 FROM change_log;
@@ -0,0 +1,13 @@
+-- Training session IDs come from training_session_id_sequence in blocks instead of AUTO_INCREMENT,
+-- so Hibernate can batch the inserts of a slot configuration generation. The column keeps its
+-- AUTO_INCREMENT attribute; it is simply always given an explicit value now.
+
+USE turnero_db;
+
+CREATE TABLE IF NOT EXISTS training_session_id_sequence (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT IGNORE INTO training_session_id_sequence (sequence_name, next_val)
+SELECT 'training_sessions', COALESCE(MAX(id), 0) + 1 FROM training_sessions;
@@ -0,0 +1,88 @@
+// Anonymous browsing of the public session endpoints through the nginx proxy.
+// Every response reports whether nginx answered it or had to call the backend (X-Cache-Status).
+//
+//   k6 run load-tests/anonymous-browsing.js
+//   k6 run -e BYPASS_CACHE=1 load-tests/anonymous-browsing.js   (uncached baseline)
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:1999';
+const BYPASS_CACHE = __ENV.BYPASS_CACHE === '1';
+
+// Statuses for which nginx forwarded the request to the backend
+const BACKEND_STATUSES = ['MISS', 'EXPIRED', 'BYPASS', 'REVALIDATED'];
+
+const backendRequests = new Counter('backend_requests');
+const edgeHits = new Rate('edge_hit_rate');
+
+export const options = {
+    scenarios: {
+        browsing: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '2m', target: 200 },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function isoDate(offsetDays) {
+    const date = new Date();
+    date.setDate(date.getDate() + offsetDays);
+    return date.toISOString().slice(0, 10);
+}
+
+function get(path) {
+    // A unique query string gives every request its own cache key
+    const url = BYPASS_CACHE
+        ? `${BASE_URL}${path}${path.includes('?') ? '&' : '?'}nocache=${__VU}-${__ITER}-${Math.random()}`
+        : `${BASE_URL}${path}`;
+    const response = http.get(url, { tags: { name: path.split('?')[0] } });
+    check(response, { 'status is 200': (r) => r.status === 200 });
+
+    const cacheStatus = response.headers['X-Cache-Status'] || 'NONE';
+    const forwarded = BACKEND_STATUSES.includes(cacheStatus) || cacheStatus === 'NONE';
+    if (forwarded) {
+        backendRequests.add(1);
+    }
+    edgeHits.add(!forwarded);
+    return response;
+}
+
+export default function () {
+    const startDate = isoDate(Math.floor(Math.random() * 3));
+    const endDate = isoDate(7);
+
+    get(`/api/training-sessions/availability?startDate=${startDate}&endDate=${endDate}`);
+    const sessions = get('/api/training-sessions');
+    sleep(1);
+
+    if (sessions.status === 200) {
+        const list = sessions.json();
+        if (list.length > 0) {
+            const session = list[Math.floor(Math.random() * Math.min(list.length, 20))];
+            get(`/api/training-sessions/${session.id}`);
+        }
+    }
+    sleep(2);
+}
+
+export function handleSummary(data) {
+    const total = data.metrics.http_reqs.values.count;
+    const backend = data.metrics.backend_requests ? data.metrics.backend_requests.values.count : 0;
+    const seconds = data.state.testRunDurationMs / 1000;
+    const summary = [
+        `mode:              ${BYPASS_CACHE ? 'cache bypassed' : 'edge cache'}`,
+        `requests:          ${total} (${(total / seconds).toFixed(1)}/s)`,
+        `backend requests:  ${backend} (${(backend / seconds).toFixed(1)}/s)`,
+        `served by nginx:   ${total > 0 ? (((total - backend) / total) * 100).toFixed(1) : '0.0'}%`,
+    ].join('\n');
+    return { stdout: summary + '\n' };
+}
@@ -0,0 +1,90 @@
+// Payload size and response time of the session lists per format (JSON, CBOR, Smile) and encoding.
+// Serialization time per format is reported by the backend itself in the api.serialization timer
+// (and api.serialization.bytes), visible at /actuator/metrics on the backend when the metrics endpoint is exposed.
+//
+//   k6 run load-tests/payload-formats.js
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:1999';
+
+const FORMATS = {
+    json: 'application/json',
+    cbor: 'application/cbor',
+    smile: 'application/x-jackson-smile',
+};
+const ENCODINGS = ['identity', 'gzip'];
+const ENDPOINTS = {
+    list: '/api/training-sessions',
+    compact: '/api/training-sessions?view=compact',
+    availability: '/api/training-sessions/availability',
+};
+
+const payloadBytes = new Trend('payload_bytes');
+
+// A threshold per combination makes k6 keep (and summarize) the tagged sub-metrics
+const thresholds = {};
+for (const endpoint of Object.keys(ENDPOINTS)) {
+    for (const format of Object.keys(FORMATS)) {
+        for (const encoding of ENCODINGS) {
+            const tags = `endpoint:${endpoint},format:${format},encoding:${encoding}`;
+            thresholds[`payload_bytes{${tags}}`] = ['avg>=0'];
+            thresholds[`data_received{${tags}}`] = ['count>=0'];
+            thresholds[`http_reqs{${tags}}`] = ['count>=0'];
+            thresholds[`http_req_waiting{${tags}}`] = ['med>=0'];
+        }
+    }
+}
+
+export const options = {
+    scenarios: {
+        formats: { executor: 'shared-iterations', vus: 5, iterations: 200 },
+    },
+    thresholds,
+};
+
+export default function () {
+    for (const [endpoint, path] of Object.entries(ENDPOINTS)) {
+        for (const [format, mediaType] of Object.entries(FORMATS)) {
+            for (const encoding of ENCODINGS) {
+                const tags = { endpoint, format, encoding };
+                const response = http.get(`${BASE_URL}${path}`, {
+                    headers: { Accept: mediaType, 'Accept-Encoding': encoding },
+                    responseType: 'binary',
+                    tags,
+                });
+                check(response, {
+                    'status is 200': (r) => r.status === 200,
+                    'negotiated format': (r) => (r.headers['Content-Type'] || '').startsWith(mediaType),
+                });
+                if (response.body) {
+                    payloadBytes.add(response.body.byteLength, tags);
+                }
+            }
+        }
+    }
+}
+
+export function handleSummary(data) {
+    const value = (name, stat) => (data.metrics[name] ? data.metrics[name].values[stat] : 0);
+    const rows = [['endpoint', 'format', 'encoding', 'body bytes', 'wire bytes/req', 'median wait ms']];
+    for (const endpoint of Object.keys(ENDPOINTS)) {
+        for (const format of Object.keys(FORMATS)) {
+            for (const encoding of ENCODINGS) {
+                const tags = `{endpoint:${endpoint},format:${format},encoding:${encoding}}`;
+                const requests = value(`http_reqs${tags}`, 'count');
+                rows.push([
+                    endpoint,
+                    format,
+                    encoding,
+                    Math.round(value(`payload_bytes${tags}`, 'avg')),
+                    requests > 0 ? Math.round(value(`data_received${tags}`, 'count') / requests) : 0,
+                    value(`http_req_waiting${tags}`, 'med').toFixed(2),
+                ]);
+            }
+        }
+    }
+    const table = rows.map((row) => row.map((cell) => String(cell).padEnd(16)).join('')).join('\n');
+    return { stdout: table + '\n' };
+}
@@ -0,0 +1,80 @@
+// Throughput of the authenticated session lists (full list, upcoming, date ranges), which are
+// answered from the backend's in-memory session snapshot instead of the database.
+// Authenticated requests are never cached by the proxy, so every request reaches the backend.
+// Run once with the snapshot and once with AVAILABILITY_SNAPSHOT_ENABLED=false on the backend
+// and compare the requests per second of each endpoint.
+//
+//   k6 run load-tests/session-snapshot.js
+//   k6 run -e EMAIL=diego.martinez@clublosamigos.com -e PASSWORD=Trainer123! load-tests/session-snapshot.js
+//   k6 run -e TOKEN=<jwt> load-tests/session-snapshot.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:1999';
+const EMAIL = __ENV.EMAIL || 'admin@clublosamigos.com';
+const PASSWORD = __ENV.PASSWORD || 'Admin123!';
+const DURATION = __ENV.DURATION || '30s';
+
+const ENDPOINTS = ['list', 'upcoming', 'date-range'];
+
+// A threshold per endpoint makes k6 keep (and summarize) the tagged sub-metrics
+const thresholds = {};
+for (const endpoint of ENDPOINTS) {
+    thresholds[`http_reqs{endpoint:${endpoint}}`] = ['count>=0'];
+    thresholds[`http_req_duration{endpoint:${endpoint}}`] = ['p(95)>=0'];
+}
+
+export const options = {
+    scenarios: {
+        sessions: { executor: 'constant-vus', vus: 20, duration: DURATION },
+    },
+    thresholds,
+};
+
+export function setup() {
+    if (__ENV.TOKEN) {
+        return { token: __ENV.TOKEN };
+    }
+    const response = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, password: PASSWORD }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(response, { 'logged in': (r) => r.status === 200 });
+    return { token: response.json('token') };
+}
+
+function isoDate(date) {
+    return date.toISOString().slice(0, 10);
+}
+
+export default function (data) {
+    const headers = { Authorization: `Bearer ${data.token}` };
+
+    // Ranges of one to four weeks starting within the next month, as the calendar views ask for
+    const start = new Date(Date.now() + Math.floor(Math.random() * 30) * 86400000);
+    const end = new Date(start.getTime() + (7 * (1 + Math.floor(Math.random() * 4)) - 1) * 86400000);
+    const paths = {
+        list: '/api/training-sessions',
+        upcoming: '/api/training-sessions/upcoming',
+        'date-range': `/api/training-sessions/date-range?startDate=${isoDate(start)}&endDate=${isoDate(end)}`,
+    };
+
+    for (const endpoint of ENDPOINTS) {
+        const response = http.get(`${BASE_URL}${paths[endpoint]}`, { headers, tags: { endpoint } });
+        check(response, { 'status is 200': (r) => r.status === 200 });
+    }
+}
+
+export function handleSummary(data) {
+    const value = (name, stat) => (data.metrics[name] ? data.metrics[name].values[stat] : 0);
+    const rows = [['endpoint', 'requests', 'req/s', 'p95 ms']];
+    for (const endpoint of ENDPOINTS) {
+        rows.push([
+            endpoint,
+            value(`http_reqs{endpoint:${endpoint}}`, 'count'),
+            value(`http_reqs{endpoint:${endpoint}}`, 'rate').toFixed(1),
+            value(`http_req_duration{endpoint:${endpoint}}`, 'p(95)').toFixed(2),
+        ]);
+    }
+    const table = rows.map((row) => row.map((cell) => String(cell).padEnd(16)).join('')).join('\n');
+    return { stdout: table + '\n' };
+}
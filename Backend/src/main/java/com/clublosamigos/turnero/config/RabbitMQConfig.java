@@ -23,14 +23,20 @@ public class RabbitMQConfig {
 
     // Exchange Names
     public static final String TURNERO_EXCHANGE = "turnero.exchange";
+    public static final String TOKEN_REVOCATION_EXCHANGE = "turnero.token-revocations";
 
     // Routing Keys
     public static final String ROUTING_KEY_BOOKING_CONFIRMED = "notification.booking.confirmed";
+    public static final String ROUTING_KEY_BOOKING_SERIES_CONFIRMED = "notification.booking.series-confirmed";
     public static final String ROUTING_KEY_BOOKING_CANCELLED = "notification.booking.cancelled";
     public static final String ROUTING_KEY_SESSION_CANCELLED = "notification.session.cancelled";
     public static final String ROUTING_KEY_SESSION_MODIFIED = "notification.session.modified";
     public static final String ROUTING_KEY_REMINDER_24H = "notification.reminder.24h";
     public static final String ROUTING_KEY_BULK_GENERATION = "task.bulk.generation";
+    public static final String ROUTING_KEY_USER_CACHE_INVALIDATE = "cache.user.invalidate";
+    public static final String ROUTING_KEY_ENTITY_CACHE_INVALIDATE = "cache.entity.invalidate";
+    public static final String ROUTING_KEY_SEATS_CHANGED = "availability.seats.changed";
+    public static final String ROUTING_KEY_RESOURCE_VERSION = "cache.resource.version";
 
     /**
      * Notifications Queue - receives all notification events
@@ -76,6 +82,11 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(notificationsQueue).to(turneroExchange).with(ROUTING_KEY_BOOKING_CONFIRMED);
     }
 
+    @Bean
+    public Binding bindingBookingSeriesConfirmed(Queue notificationsQueue, TopicExchange turneroExchange) {
+        return BindingBuilder.bind(notificationsQueue).to(turneroExchange).with(ROUTING_KEY_BOOKING_SERIES_CONFIRMED);
+    }
+
     @Bean
     public Binding bindingBookingCancelled(Queue notificationsQueue, TopicExchange turneroExchange) {
         return BindingBuilder.bind(notificationsQueue).to(turneroExchange).with(ROUTING_KEY_BOOKING_CANCELLED);
@@ -104,6 +115,79 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(bulkGenerationQueue).to(turneroExchange).with(ROUTING_KEY_BULK_GENERATION);
     }
 
+    /**
+     * Per-node, auto-deleted queue receiving user cache invalidations from every node
+     */
+    @Bean
+    public Queue userCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingUserCacheInvalidation(Queue userCacheInvalidationQueue, TopicExchange turneroExchange) {
+        return BindingBuilder.bind(userCacheInvalidationQueue).to(turneroExchange).with(ROUTING_KEY_USER_CACHE_INVALIDATE);
+    }
+
+    /**
+     * Per-node, auto-deleted queue receiving second-level cache invalidations from every node
+     */
+    @Bean
+    public Queue entityCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingEntityCacheInvalidation(Queue entityCacheInvalidationQueue, TopicExchange turneroExchange) {
+        return BindingBuilder.bind(entityCacheInvalidationQueue).to(turneroExchange).with(ROUTING_KEY_ENTITY_CACHE_INVALIDATE);
+    }
+
+    /**
+     * Per-node, auto-deleted queue receiving resource changes that invalidate ETags on every node
+     */
+    @Bean
+    public Queue resourceVersionQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingResourceVersion(Queue resourceVersionQueue, TopicExchange turneroExchange) {
+        return BindingBuilder.bind(resourceVersionQueue).to(turneroExchange).with(ROUTING_KEY_RESOURCE_VERSION);
+    }
+
+    /**
+     * Per-node, auto-deleted queue receiving seat changes committed on any node for the seat stream
+     */
+    @Bean
+    public Queue seatChangeQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingSeatChange(Queue seatChangeQueue, TopicExchange turneroExchange) {
+        return BindingBuilder.bind(seatChangeQueue).to(turneroExchange).with(ROUTING_KEY_SEATS_CHANGED);
+    }
+
+    /**
+     * Fanout Exchange broadcasting refresh-token family revocations to every node
+     */
+    @Bean
+    public FanoutExchange tokenRevocationExchange() {
+        return new FanoutExchange(TOKEN_REVOCATION_EXCHANGE);
+    }
+
+    /**
+     * Per-node, auto-deleted queue so each instance receives every revocation
+     */
+    @Bean
+    public Queue tokenRevocationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bindingTokenRevocation(Queue tokenRevocationQueue, FanoutExchange tokenRevocationExchange) {
+        return BindingBuilder.bind(tokenRevocationQueue).to(tokenRevocationExchange);
+    }
+
     /**
      * Message converter - uses Jackson to serialize/deserialize messages as JSON
      */
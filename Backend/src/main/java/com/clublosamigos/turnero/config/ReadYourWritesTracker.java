@@ -0,0 +1,59 @@
+package com.clublosamigos.turnero.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last ran a read-write transaction, so their reads stay on the primary
+ * for a short window afterwards and they never see a replica that has not caught up with their
+ * own write. The window is tracked per node.
+ */
+public class ReadYourWritesTracker {
+
+    private final long pinMillis;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    /**
+     * Record that the current user is writing
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            lastWriteByUser.put(user, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return true if the current user wrote within the pin window
+     */
+    public boolean isPinnedToPrimary() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(user);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < pinMillis;
+    }
+
+    /**
+     * Forget users whose pin window has passed
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.pin-cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - pinMillis;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
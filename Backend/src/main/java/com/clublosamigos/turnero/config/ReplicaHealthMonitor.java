@@ -0,0 +1,165 @@
+package com.clublosamigos.turnero.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically probes every replica and reports its replication lag. A replica is routable only
+ * while it answers and lags the primary by at most {@code maxLagSeconds}. Instances that report no
+ * replication status (e.g. a plain MySQL stand-in used locally) count as healthy unless
+ * replication status is required. Probes run on the monitor's own thread, so a replica that is slow
+ * to accept connections delays only the next probe, not the application's scheduled jobs.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+    private static final long UNKNOWN_LAG = -1;
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final boolean requireReplicationStatus;
+    private final long checkIntervalMs;
+
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealthMonitor(Map<String, DataSource> replicas, long maxLagSeconds, boolean requireReplicationStatus,
+                                long checkIntervalMs, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.requireReplicationStatus = requireReplicationStatus;
+        this.checkIntervalMs = checkIntervalMs;
+
+        Gauge.builder("datasource.replicas.healthy", healthy, map -> map.values().stream().filter(Boolean::booleanValue).count())
+                .description("Replicas currently eligible for read-only transactions")
+                .register(meterRegistry);
+        for (String key : replicas.keySet()) {
+            Gauge.builder("datasource.replica.lag", lagSeconds, map -> map.getOrDefault(key, UNKNOWN_LAG))
+                    .tag("replica", key)
+                    .description("Replication lag in seconds, -1 when unknown")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return Replica pools by routing key
+     */
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return Largest lag, in seconds, at which a replica still serves reads
+     */
+    public long getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    /**
+     * @return true if the replica may serve reads
+     */
+    public boolean isHealthy(String key) {
+        return healthy.getOrDefault(key, false);
+    }
+
+    /**
+     * Start probing the replicas every {@code checkIntervalMs}
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Probe every replica
+     */
+    public void check() {
+        replicas.forEach((key, dataSource) -> {
+            boolean wasHealthy = isHealthy(key);
+            boolean nowHealthy = probe(key, dataSource);
+            healthy.put(key, nowHealthy);
+            if (wasHealthy != nowHealthy) {
+                log.warn("Replica {} is now {}", key, nowHealthy ? "healthy" : "unhealthy, reads fall back to the primary");
+            }
+        });
+    }
+
+    private boolean probe(String key, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            Long lag = replicationLag(statement);
+            lagSeconds.put(key, lag != null ? lag : UNKNOWN_LAG);
+            if (lag == null) {
+                return !requireReplicationStatus;
+            }
+            return lag >= 0 && lag <= maxLagSeconds;
+        } catch (SQLException ex) {
+            log.debug("Replica {} probe failed: {}", key, ex.getMessage());
+            lagSeconds.put(key, UNKNOWN_LAG);
+            return false;
+        }
+    }
+
+    /**
+     * Stop probing and close the replica pools when the application context closes
+     */
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException ex) {
+                    log.warn("Failed to close replica pool: {}", ex.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * @return Seconds behind the source, -1 if replication is configured but not running, or null
+     * if the instance is not a replica
+     */
+    private static Long replicationLag(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            return readLag(rs, "Seconds_Behind_Source");
+        } catch (SQLException ex) {
+            // MySQL before 8.0.22
+            try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                return readLag(rs, "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static Long readLag(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? -1L : lag;
+    }
+}
@@ -0,0 +1,105 @@
+package com.clublosamigos.turnero.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-replica routing, enabled with {@code datasource.replicas.enabled=true}.
+ * The primary pool is built from {@code spring.datasource.*}; replicas from the comma-separated
+ * {@code datasource.replicas.urls}, sharing the primary credentials unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start")
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            DataSourceProperties properties,
+            @Value("${datasource.replicas.urls}") String urls,
+            @Value("${datasource.replicas.username:}") String username,
+            @Value("${datasource.replicas.password:}") String password,
+            @Value("${datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${datasource.replicas.require-replication-status:true}") boolean requireReplicationStatus,
+            @Value("${datasource.replicas.connection-timeout-ms:3000}") long connectionTimeoutMs,
+            @Value("${datasource.replicas.health-check-interval-ms:5000}") long healthCheckIntervalMs,
+            MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String key = "replica-" + index++;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(key);
+            dataSource.setJdbcUrl(url.trim());
+            dataSource.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            dataSource.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setReadOnly(true);
+            // A replica that stops answering fails fast, for reads and for the health probe alike
+            dataSource.setConnectionTimeout(connectionTimeoutMs);
+            dataSource.setValidationTimeout(Math.min(connectionTimeoutMs, 2000));
+            // Start even if a replica is down; the health monitor keeps it out of rotation
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.put(key, dataSource);
+        }
+        return new ReplicaHealthMonitor(replicas, maxLagSeconds, requireReplicationStatus, healthCheckIntervalMs,
+                meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") long pinMillis) {
+        return new ReadYourWritesTracker(pinMillis);
+    }
+
+    /**
+     * Routing data source exposed to JPA and JDBC. Connections are fetched lazily so the routing
+     * decision sees the transaction's read-only flag.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>(replicaHealthMonitor.getReplicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        List<String> replicaKeys = new ArrayList<>(replicaHealthMonitor.getReplicas().keySet());
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                replicaKeys, replicaHealthMonitor, readYourWritesTracker, meterRegistry);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
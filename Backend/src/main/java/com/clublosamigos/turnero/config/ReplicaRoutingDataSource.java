@@ -0,0 +1,88 @@
+package com.clublosamigos.turnero.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routes read-only transactions to a healthy replica (round robin) and everything else to the
+ * primary. Reads stay on the primary while the current user is inside the read-your-writes window
+ * or when no replica is healthy, and inside {@link #readFromPrimary}. Must be wrapped in a LazyConnectionDataSourceProxy so the
+ * connection is only fetched once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final List<String> replicaKeys;
+    private final ReplicaHealthMonitor healthMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReplicaRoutingDataSource(List<String> replicaKeys, ReplicaHealthMonitor healthMonitor,
+                                    ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.replicaKeys = replicaKeys;
+        this.healthMonitor = healthMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.primaryRoutes = Counter.builder("datasource.routing")
+                .tag("target", PRIMARY)
+                .description("Connections handed out by the routing data source")
+                .register(meterRegistry);
+        this.replicaRoutes = Counter.builder("datasource.routing")
+                .tag("target", "replica")
+                .description("Connections handed out by the routing data source")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run reads on the primary, for callers that know of a change a replica may not have applied yet.
+     * Transactions must start inside the reads for the routing to apply.
+     *
+     * @param reads Reads to run
+     * @return Result of the reads
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        if (PRIMARY_READS.get() != null) {
+            return reads.get();
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite();
+            }
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        if (!replicaKeys.isEmpty() && PRIMARY_READS.get() == null && !readYourWritesTracker.isPinnedToPrimary()) {
+            int size = replicaKeys.size();
+            int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                String key = replicaKeys.get((start + i) % size);
+                if (healthMonitor.isHealthy(key)) {
+                    replicaRoutes.increment();
+                    return key;
+                }
+            }
+        }
+        primaryRoutes.increment();
+        return PRIMARY;
+    }
+}
@@ -5,6 +5,7 @@ import com.clublosamigos.turnero.dto.request.RefreshTokenRequest;
 import com.clublosamigos.turnero.dto.request.RegisterRequest;
 import com.clublosamigos.turnero.dto.response.AuthResponse;
 import com.clublosamigos.turnero.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -37,11 +38,13 @@ public class AuthController {
      * Login user
      *
      * @param request LoginRequest containing email and password
+     * @param httpRequest Servlet request, for the client address
      * @return AuthResponse with JWT token
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
@@ -56,10 +59,11 @@ public class AuthController {
 
     /**
      * Logout endpoint
+     * Revokes the refresh token sent in the body together with every token rotated from it
      */
     @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
-        authService.logout();
+    public ResponseEntity<String> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        authService.logout(request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok("Logged out successfully");
     }
 }
@@ -1,20 +1,30 @@
 package com.clublosamigos.turnero.controller;
 
 import com.clublosamigos.turnero.dto.request.BookingRequest;
+import com.clublosamigos.turnero.dto.request.SeriesBookingRequest;
+import com.clublosamigos.turnero.dto.response.BatchItemResponse;
+import com.clublosamigos.turnero.dto.response.BookingEligibilityResponse;
 import com.clublosamigos.turnero.dto.response.BookingResponse;
+import com.clublosamigos.turnero.dto.response.SeriesBookingResponse;
+import com.clublosamigos.turnero.exception.BadRequestException;
 import com.clublosamigos.turnero.service.BookingService;
+import com.clublosamigos.turnero.service.ResourceVersions;
+import com.clublosamigos.turnero.service.ResourceVersions.ResourceVersion;
 import com.clublosamigos.turnero.security.CustomUserDetailsService;
-import com.clublosamigos.turnero.model.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST Controller for booking management operations
@@ -24,8 +34,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final Set<String> STAFF_AUTHORITIES = Set.of("ROLE_SUPER_ADMIN", "ROLE_ENTRENADOR");
+
     private final BookingService bookingService;
     private final CustomUserDetailsService userDetailsService;
+    private final ResourceVersions resourceVersions;
 
     /**
      * Create a new booking
@@ -41,6 +54,21 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Book every session of a slot configuration in a date range; sessions that cannot be booked are
+     * reported and skipped
+     *
+     * @param request SeriesBookingRequest
+     * @return SeriesBookingResponse with one entry per session
+     */
+    @PostMapping("/series")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SeriesBookingResponse> bookSeries(@Valid @RequestBody SeriesBookingRequest request) {
+        Long userId = getUserIdFromAuthentication();
+        SeriesBookingResponse response = bookingService.bookSeries(userId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Get all bookings (SUPER_ADMIN and ENTRENADOR only)
      *
@@ -48,11 +76,59 @@ public class BookingController {
      */
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_SUPER_ADMIN', 'ROLE_ENTRENADOR')")
-    public ResponseEntity<List<BookingResponse>> getAllBookings() {
-        List<BookingResponse> bookings = bookingService.getAllBookings();
+    public ResponseEntity<List<BookingResponse>> getAllBookings(WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.bookings();
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        List<BookingResponse> bookings = version.read(bookingService::getAllBookings);
         return ResponseEntity.ok(bookings);
     }
 
+    /**
+     * Get many bookings by ID in one call
+     * SUPER_ADMIN and ENTRENADOR get any booking; other users only their own
+     *
+     * @param ids Comma-separated booking IDs, at most batch.max-ids
+     * @return One entry per requested ID in request order, with a not-found marker for missing ones
+     */
+    @GetMapping(params = "ids")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BatchItemResponse<BookingResponse>>> getBookingBatch(@RequestParam List<Long> ids,
+                                                                                    WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.bookings();
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        Long ownerId = isStaff() ? null : getUserIdFromAuthentication();
+        return ResponseEntity.ok(version.read(() -> bookingService.getBookingBatch(ids, ownerId)));
+    }
+
+    /**
+     * Check which sessions can be booked, e.g. to disable "Book" buttons of a calendar page
+     * SUPER_ADMIN and ENTRENADOR may check for another user
+     *
+     * @param sessionIds Training session IDs to check
+     * @param startDate Start of a date range to check instead of IDs (yyyy-MM-dd)
+     * @param endDate End of the date range, at most 31 days after the start (yyyy-MM-dd)
+     * @param userId User to check for (defaults to the caller)
+     * @return List of BookingEligibilityResponse
+     */
+    @GetMapping("/eligibility")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BookingEligibilityResponse>> getBookingEligibility(
+            @RequestParam(required = false) List<Long> sessionIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long userId) {
+        Long callerId = getUserIdFromAuthentication();
+        if (userId != null && !userId.equals(callerId) && !isStaff()) {
+            throw new BadRequestException("You can only check your own booking eligibility");
+        }
+        Long targetId = userId != null ? userId : callerId;
+        return ResponseEntity.ok(bookingService.getBookingEligibility(targetId, sessionIds, startDate, endDate));
+    }
+
     /**
      * Get booking by ID
      *
@@ -61,8 +137,12 @@ public class BookingController {
      */
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id) {
-        BookingResponse booking = bookingService.getBookingById(id);
+    public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.bookings();
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        BookingResponse booking = version.read(() -> bookingService.getBookingById(id));
         return ResponseEntity.ok(booking);
     }
 
@@ -74,34 +154,60 @@ public class BookingController {
      */
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyAuthority('ROLE_SUPER_ADMIN', 'ROLE_ENTRENADOR')")
-    public ResponseEntity<List<BookingResponse>> getBookingsByUser(@PathVariable Long userId) {
-        List<BookingResponse> bookings = bookingService.getBookingsByUser(userId);
+    public ResponseEntity<List<BookingResponse>> getBookingsByUser(@PathVariable Long userId, WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.bookingsOfUser(userId);
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        List<BookingResponse> bookings = version.read(() -> bookingService.getBookingsByUser(userId));
         return ResponseEntity.ok(bookings);
     }
 
     /**
      * Get my bookings (authenticated user's bookings)
      *
-     * @return List of BookingResponse
+     * @param view "full" (default) or "compact"
+     * @param fields Sparse fieldset of the compact view
+     * @return List of BookingResponse, or CompactListResponse of BookingSummaryResponse
      */
     @GetMapping("/my-bookings")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<BookingResponse>> getMyBookings() {
+    public ResponseEntity<?> getMyBookings(@RequestParam(required = false) String view,
+                                           @RequestParam(required = false) String fields,
+                                           WebRequest webRequest) {
         Long userId = getUserIdFromAuthentication();
-        List<BookingResponse> bookings = bookingService.getBookingsByUser(userId);
+        ResourceVersion version = resourceVersions.bookingsOfUser(userId);
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        if (isCompactView(view, fields)) {
+            return ResponseEntity.ok(version.read(() -> bookingService.getBookingSummariesByUser(userId, false, fields)));
+        }
+        List<BookingResponse> bookings = version.read(() -> bookingService.getBookingsByUser(userId));
         return ResponseEntity.ok(bookings);
     }
 
     /**
      * Get upcoming bookings for authenticated user
      *
-     * @return List of BookingResponse
+     * @param view "full" (default) or "compact"
+     * @param fields Sparse fieldset of the compact view
+     * @return List of BookingResponse, or CompactListResponse of BookingSummaryResponse
      */
     @GetMapping("/my-upcoming")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<BookingResponse>> getMyUpcomingBookings() {
+    public ResponseEntity<?> getMyUpcomingBookings(@RequestParam(required = false) String view,
+                                                   @RequestParam(required = false) String fields,
+                                                   WebRequest webRequest) {
         Long userId = getUserIdFromAuthentication();
-        List<BookingResponse> bookings = bookingService.getUpcomingBookingsByUser(userId);
+        ResourceVersion version = resourceVersions.upcomingBookingsOfUser(userId);
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        if (isCompactView(view, fields)) {
+            return ResponseEntity.ok(version.read(() -> bookingService.getBookingSummariesByUser(userId, true, fields)));
+        }
+        List<BookingResponse> bookings = version.read(() -> bookingService.getUpcomingBookingsByUser(userId));
         return ResponseEntity.ok(bookings);
     }
 
@@ -113,8 +219,13 @@ public class BookingController {
      */
     @GetMapping("/session/{sessionId}")
     @PreAuthorize("hasAnyAuthority('ROLE_SUPER_ADMIN', 'ROLE_ENTRENADOR')")
-    public ResponseEntity<List<BookingResponse>> getBookingsByTrainingSession(@PathVariable Long sessionId) {
-        List<BookingResponse> bookings = bookingService.getBookingsByTrainingSession(sessionId);
+    public ResponseEntity<List<BookingResponse>> getBookingsByTrainingSession(@PathVariable Long sessionId,
+                                                                              WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.bookingsOfSession(sessionId);
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        List<BookingResponse> bookings = version.read(() -> bookingService.getBookingsByTrainingSession(sessionId));
         return ResponseEntity.ok(bookings);
     }
 
@@ -145,16 +256,45 @@ public class BookingController {
         return ResponseEntity.ok("Booking deleted successfully");
     }
 
+    /**
+     * Answer a conditional GET from the version counters, before any query runs
+     * Sets the ETag (and Last-Modified) headers; returns true when a 304 was prepared
+     */
+    private boolean isNotModified(WebRequest webRequest, ResourceVersion version) {
+        return webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
     /**
      * Helper method to extract user ID from authentication context
-     * Gets the email from the JWT token and loads the user entity
+     * Gets the email from the JWT token and resolves it through the user cache
      *
      * @return User ID from authenticated user
      */
     private Long getUserIdFromAuthentication() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName(); // Username is the email
-        User user = userDetailsService.loadUserEntityByEmail(email);
-        return user.getId();
+        return userDetailsService.loadUserIdByEmail(email);
+    }
+
+    /**
+     * Whether the caller is a SUPER_ADMIN or ENTRENADOR
+     */
+    private static boolean isStaff() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> STAFF_AUTHORITIES.contains(authority.getAuthority()));
+    }
+
+    /**
+     * Whether the compact list view was requested; a sparse fieldset implies it
+     */
+    private static boolean isCompactView(String view, String fields) {
+        if (view == null || view.equals("full")) {
+            return fields != null;
+        }
+        if (!view.equals("compact")) {
+            throw new BadRequestException("Unknown view '" + view + "'. Allowed views: full, compact");
+        }
+        return true;
     }
 }
@@ -0,0 +1,43 @@
+package com.clublosamigos.turnero.controller;
+
+import com.clublosamigos.turnero.dto.response.ChangeFeedResponse;
+import com.clublosamigos.turnero.security.CustomUserDetailsService;
+import com.clublosamigos.turnero.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for incremental sync of training sessions and the caller's bookings
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+    private final CustomUserDetailsService userDetailsService;
+
+    /**
+     * Get sessions and my bookings changed since a change token
+     *
+     * @param since Token returned by the previous call; omit it to obtain the current token only
+     * @param limit Optional maximum number of changes to consume
+     * @return ChangeFeedResponse
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = userDetailsService.loadUserIdByEmail(authentication.getName());
+        return ResponseEntity.ok(changeFeedService.getChanges(userId, since, limit));
+    }
+}
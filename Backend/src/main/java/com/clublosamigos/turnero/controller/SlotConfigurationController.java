@@ -2,6 +2,7 @@ package com.clublosamigos.turnero.controller;
 
 import com.clublosamigos.turnero.dto.request.SlotConfigRequest;
 import com.clublosamigos.turnero.dto.request.SlotGenerationRequest;
+import com.clublosamigos.turnero.dto.response.SlotGenerationPreviewResponse;
 import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
 import com.clublosamigos.turnero.model.SlotConfiguration;
 import com.clublosamigos.turnero.service.SlotConfigurationService;
@@ -92,6 +93,22 @@ public class SlotConfigurationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(sessions);
     }
 
+    /**
+     * Preview a generation without creating any session
+     *
+     * @param id Slot configuration ID
+     * @param request Template for training sessions
+     * @return SlotGenerationPreviewResponse with available and conflicting dates
+     */
+    @PostMapping("/{id}/generate/preview")
+    @PreAuthorize("hasAnyAuthority('ROLE_SUPER_ADMIN', 'ROLE_ENTRENADOR')")
+    public ResponseEntity<SlotGenerationPreviewResponse> previewTrainingSessions(
+            @PathVariable Long id,
+            @Valid @RequestBody SlotGenerationRequest request) {
+        SlotGenerationPreviewResponse preview = slotConfigurationService.previewTrainingSessions(id, request);
+        return ResponseEntity.ok(preview);
+    }
+
     /**
      * Delete a slot configuration (SUPER_ADMIN only)
      *
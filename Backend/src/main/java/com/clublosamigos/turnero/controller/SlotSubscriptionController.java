@@ -0,0 +1,78 @@
+package com.clublosamigos.turnero.controller;
+
+import com.clublosamigos.turnero.dto.request.SlotSubscriptionRequest;
+import com.clublosamigos.turnero.dto.response.SlotSubscriptionResponse;
+import com.clublosamigos.turnero.security.CustomUserDetailsService;
+import com.clublosamigos.turnero.service.SlotSubscriptionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the caller's slot subscriptions
+ */
+@RestController
+@RequestMapping("/api/slot-subscriptions")
+@RequiredArgsConstructor
+public class SlotSubscriptionController {
+
+    private final SlotSubscriptionService slotSubscriptionService;
+    private final CustomUserDetailsService userDetailsService;
+
+    /**
+     * Subscribe to a slot configuration: future sessions generated from it are booked automatically
+     *
+     * @param request SlotSubscriptionRequest
+     * @return Created SlotSubscriptionResponse
+     */
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SlotSubscriptionResponse> subscribe(@Valid @RequestBody SlotSubscriptionRequest request) {
+        SlotSubscriptionResponse response = slotSubscriptionService.subscribe(
+                getUserIdFromAuthentication(), request.getSlotConfigurationId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Get the caller's subscriptions
+     *
+     * @return List of SlotSubscriptionResponse
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SlotSubscriptionResponse>> getMySubscriptions() {
+        return ResponseEntity.ok(slotSubscriptionService.getSubscriptionsByUser(getUserIdFromAuthentication()));
+    }
+
+    /**
+     * Unsubscribe from a slot configuration; bookings already made are kept
+     *
+     * @param slotConfigId Slot configuration ID
+     * @return No content
+     */
+    @DeleteMapping("/{slotConfigId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> unsubscribe(@PathVariable Long slotConfigId) {
+        slotSubscriptionService.unsubscribe(getUserIdFromAuthentication(), slotConfigId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Helper method to extract user ID from authentication context
+     * Gets the email from the JWT token and resolves it through the user cache
+     *
+     * @return User ID from authenticated user
+     */
+    private Long getUserIdFromAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName(); // Username is the email
+        return userDetailsService.loadUserIdByEmail(email);
+    }
+}
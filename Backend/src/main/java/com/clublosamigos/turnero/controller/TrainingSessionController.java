@@ -1,18 +1,40 @@
 package com.clublosamigos.turnero.controller;
 
 import com.clublosamigos.turnero.dto.request.TrainingSessionRequest;
+import com.clublosamigos.turnero.dto.response.BatchItemResponse;
 import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.service.ResourceVersions;
+import com.clublosamigos.turnero.service.ResourceVersions.ResourceVersion;
+import com.clublosamigos.turnero.service.SeatAvailabilityStream;
+import com.clublosamigos.turnero.service.SerializedResponseCache;
+import com.clublosamigos.turnero.service.SessionAvailabilitySnapshot;
+import com.clublosamigos.turnero.service.SingleFlight;
 import com.clublosamigos.turnero.service.TrainingSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for training session management operations
@@ -22,24 +44,113 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TrainingSessionController {
 
+    private static final String SURROGATE_KEY_HEADER = "Surrogate-Key";
+
     private final TrainingSessionService trainingSessionService;
+    private final SessionAvailabilitySnapshot availabilitySnapshot;
+    private final SeatAvailabilityStream seatAvailabilityStream;
+    private final ResourceVersions resourceVersions;
+    private final SerializedResponseCache serializedResponses;
+    private final SingleFlight singleFlight;
+
+    @Value("${edge-cache.max-age-seconds:5}")
+    private long edgeMaxAgeSeconds;
+
+    @Value("${edge-cache.stale-while-revalidate-seconds:30}")
+    private long edgeStaleWhileRevalidateSeconds;
+
+    @Value("${edge-cache.stale-if-error-seconds:300}")
+    private long edgeStaleIfErrorSeconds;
 
     /**
      * Get all training sessions (PUBLIC - no authentication required)
      *
      * @param search Optional search term
-     * @return List of TrainingSessionResponse
+     * @param view "full" (default) or "compact"
+     * @param fields Sparse fieldset of the compact view
+     * @return List of TrainingSessionResponse, or CompactListResponse of SessionSummaryResponse
      */
     @GetMapping
-    public ResponseEntity<List<TrainingSessionResponse>> getAllTrainingSessions(
-            @RequestParam(required = false) String search) {
-        List<TrainingSessionResponse> sessions;
+    public ResponseEntity<?> getAllTrainingSessions(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            ServletWebRequest webRequest) {
+        boolean compact = isCompactView(view, fields);
+        if (compact && search != null && !search.isEmpty()) {
+            throw new BadRequestException("The compact view is not available for search results");
+        }
+        ResourceVersion version = resourceVersions.sessions();
+        if (isNotModifiedShared(webRequest, version)) {
+            return null;
+        }
+        if (compact) {
+            return serializedResponses.respond(webRequest, "sessions:compact:" + fields, version,
+                    () -> trainingSessionService.getTrainingSessionSummaries(null, null, false, fields));
+        }
         if (search != null && !search.isEmpty()) {
-            sessions = trainingSessionService.searchTrainingSessions(search);
-        } else {
-            sessions = trainingSessionService.getAllTrainingSessions();
+            return ResponseEntity.ok(version.read(() -> trainingSessionService.searchTrainingSessions(search)));
         }
-        return ResponseEntity.ok(sessions);
+        return serializedResponses.respond(webRequest, "sessions", version, this::loadAllSessions);
+    }
+
+    /**
+     * Get many training sessions by ID in one call (PUBLIC)
+     *
+     * @param ids Comma-separated training session IDs, at most batch.max-ids
+     * @return One entry per requested ID in request order, with a not-found marker for missing ones
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BatchItemResponse<TrainingSessionResponse>>> getTrainingSessionBatch(
+            @RequestParam List<Long> ids, ServletWebRequest webRequest) {
+        ResourceVersion version = resourceVersions.sessions();
+        if (isNotModifiedShared(webRequest, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(version.read(() -> trainingSessionService.getTrainingSessionBatch(ids)));
+    }
+
+    /**
+     * Get compact seat availability of active sessions (PUBLIC - served from the in-memory snapshot)
+     *
+     * @param startDate Start date in format yyyy-MM-dd (defaults to today)
+     * @param endDate End date in format yyyy-MM-dd (defaults to a week after start)
+     * @return List of SessionAvailabilityResponse
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            ServletWebRequest webRequest) {
+        LocalDate from = startDate != null ? startDate : LocalDate.now();
+        LocalDate to = endDate != null ? endDate : from.plusDays(6);
+        ResourceVersion version = resourceVersions.sessionsBetween(from, to);
+        if (isNotModifiedShared(webRequest, version)) {
+            return null;
+        }
+        return serializedResponses.respond(webRequest, "availability:" + from + ":" + to, version,
+                () -> availabilitySnapshot.getAvailability(from, to));
+    }
+
+    /**
+     * Stream live seat availability as Server-Sent Events (PUBLIC)
+     * Sends the current seats of the watched sessions, then a "seats" event whenever they change
+     *
+     * @param sessionIds Session IDs to watch
+     * @param dates Dates (yyyy-MM-dd) whose active sessions to watch
+     * @param httpRequest Request, whose client address limits the open streams per client
+     * @return Event stream
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAvailability(
+            @RequestParam(required = false) List<Long> sessionIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates,
+            HttpServletRequest httpRequest) {
+        SseEmitter emitter = seatAvailabilityStream.subscribe(sessionIds, dates, httpRequest.getRemoteAddr());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
     }
 
     /**
@@ -51,8 +162,13 @@ public class TrainingSessionController {
      */
     @GetMapping("/search")
     public ResponseEntity<List<TrainingSessionResponse>> searchTrainingSessions(
-            @RequestParam String term) {
-        List<TrainingSessionResponse> sessions = trainingSessionService.searchTrainingSessions(term);
+            @RequestParam String term, ServletWebRequest webRequest) {
+        ResourceVersion version = resourceVersions.sessions();
+        if (isNotModifiedShared(webRequest, version)) {
+            return null;
+        }
+        List<TrainingSessionResponse> sessions = version.read(
+                () -> trainingSessionService.searchTrainingSessions(term));
         return ResponseEntity.ok(sessions);
     }
 
@@ -63,8 +179,13 @@ public class TrainingSessionController {
      * @return TrainingSessionResponse
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TrainingSessionResponse> getTrainingSessionById(@PathVariable Long id) {
-        TrainingSessionResponse session = trainingSessionService.getTrainingSessionById(id);
+    public ResponseEntity<TrainingSessionResponse> getTrainingSessionById(@PathVariable Long id,
+                                                                          ServletWebRequest webRequest) {
+        ResourceVersion version = resourceVersions.session(id);
+        if (isNotModifiedShared(webRequest, version)) {
+            return null;
+        }
+        TrainingSessionResponse session = version.read(() -> trainingSessionService.getTrainingSessionById(id));
         return ResponseEntity.ok(session);
     }
 
@@ -103,8 +224,14 @@ public class TrainingSessionController {
      */
     @GetMapping("/trainer/{trainerId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TrainingSessionResponse>> getTrainingSessionsByTrainer(@PathVariable Long trainerId) {
-        List<TrainingSessionResponse> sessions = trainingSessionService.getTrainingSessionsByTrainer(trainerId);
+    public ResponseEntity<List<TrainingSessionResponse>> getTrainingSessionsByTrainer(@PathVariable Long trainerId,
+                                                                                      WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.sessions();
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        List<TrainingSessionResponse> sessions = version.read(
+                () -> trainingSessionService.getTrainingSessionsByTrainer(trainerId));
         return ResponseEntity.ok(sessions);
     }
 
@@ -116,8 +243,14 @@ public class TrainingSessionController {
      */
     @GetMapping("/date/{date}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TrainingSessionResponse>> getTrainingSessionsByDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<TrainingSessionResponse> sessions = trainingSessionService.getTrainingSessionsByDate(date);
+    public ResponseEntity<List<TrainingSessionResponse>> getTrainingSessionsByDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                                                   WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.sessionsBetween(date, date);
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        List<TrainingSessionResponse> sessions = singleFlight.execute("date", webRequest, version,
+                () -> loadSessionsOn(date));
         return ResponseEntity.ok(sessions);
     }
 
@@ -126,27 +259,48 @@ public class TrainingSessionController {
      *
      * @param startDate Start date in format yyyy-MM-dd
      * @param endDate End date in format yyyy-MM-dd
-     * @return List of TrainingSessionResponse
+     * @param view "full" (default) or "compact"
+     * @param fields Sparse fieldset of the compact view
+     * @return List of TrainingSessionResponse, or CompactListResponse of SessionSummaryResponse
      */
     @GetMapping("/date-range")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TrainingSessionResponse>> getTrainingSessionsByDateRange(
+    public ResponseEntity<?> getTrainingSessionsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<TrainingSessionResponse> sessions = trainingSessionService.getTrainingSessionsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(sessions);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.sessionsBetween(startDate, endDate);
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        boolean compact = isCompactView(view, fields);
+        return ResponseEntity.ok(singleFlight.execute("date-range", webRequest, version, () -> compact
+                ? trainingSessionService.getTrainingSessionSummaries(startDate, endDate, false, fields)
+                : loadSessionsBetween(startDate, endDate)));
     }
 
     /**
      * Get upcoming training sessions (requires authentication)
      *
-     * @return List of TrainingSessionResponse
+     * @param view "full" (default) or "compact"
+     * @param fields Sparse fieldset of the compact view
+     * @return List of TrainingSessionResponse, or CompactListResponse of SessionSummaryResponse
      */
     @GetMapping("/upcoming")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TrainingSessionResponse>> getUpcomingTrainingSessions() {
-        List<TrainingSessionResponse> sessions = trainingSessionService.getUpcomingTrainingSessions();
-        return ResponseEntity.ok(sessions);
+    public ResponseEntity<?> getUpcomingTrainingSessions(@RequestParam(required = false) String view,
+                                                         @RequestParam(required = false) String fields,
+                                                         WebRequest webRequest) {
+        ResourceVersion version = resourceVersions.upcomingSessions();
+        if (isNotModified(webRequest, version)) {
+            return null;
+        }
+        boolean compact = isCompactView(view, fields);
+        return ResponseEntity.ok(singleFlight.execute("upcoming", webRequest, version, () -> compact
+                ? trainingSessionService.getTrainingSessionSummaries(LocalDate.now(), null, true, fields)
+                : loadUpcomingSessions()));
     }
 
     /**
@@ -174,4 +328,81 @@ public class TrainingSessionController {
         trainingSessionService.deleteTrainingSession(id);
         return ResponseEntity.ok("Training session deleted successfully");
     }
+
+    /**
+     * Answer a conditional GET from the version counters, before any query runs
+     * Sets the ETag (and Last-Modified) headers; returns true when a 304 was prepared
+     */
+    private boolean isNotModified(WebRequest webRequest, ResourceVersion version) {
+        return webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    /**
+     * Conditional GET of a public read that the edge proxy may cache
+     * Anonymous responses are cacheable for a few seconds and served stale while the proxy
+     * revalidates them; authenticated ones must be revalidated on every use. Both carry the
+     * surrogate keys of the sessions and dates they cover, vary on the Accept header and get an
+     * ETag per negotiated format; the body is then written in that same format.
+     */
+    private boolean isNotModifiedShared(ServletWebRequest webRequest, ResourceVersion version) {
+        MediaType mediaType = serializedResponses.negotiateMediaType(webRequest);
+        webRequest.setAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, Set.of(mediaType),
+                RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            CacheControl cacheControl = webRequest.getHeader(HttpHeaders.AUTHORIZATION) == null
+                    ? CacheControl.maxAge(Duration.ofSeconds(edgeMaxAgeSeconds))
+                            .cachePublic()
+                            .staleWhileRevalidate(Duration.ofSeconds(edgeStaleWhileRevalidateSeconds))
+                            .staleIfError(Duration.ofSeconds(edgeStaleIfErrorSeconds))
+                    : CacheControl.noCache();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            response.setHeader(SURROGATE_KEY_HEADER, String.join(" ", version.getSurrogateKeys()));
+        }
+        return isNotModified(webRequest, version.withFormat(mediaType.getSubtype()));
+    }
+
+    private List<TrainingSessionResponse> loadAllSessions() {
+        return fromSnapshot(LocalDate.MIN, LocalDate.MAX, false, trainingSessionService::getAllTrainingSessions);
+    }
+
+    private List<TrainingSessionResponse> loadSessionsOn(LocalDate date) {
+        return fromSnapshot(date, date, false, () -> trainingSessionService.getTrainingSessionsByDate(date));
+    }
+
+    private List<TrainingSessionResponse> loadSessionsBetween(LocalDate startDate, LocalDate endDate) {
+        return fromSnapshot(startDate, endDate, false,
+                () -> trainingSessionService.getTrainingSessionsByDateRange(startDate, endDate));
+    }
+
+    private List<TrainingSessionResponse> loadUpcomingSessions() {
+        return fromSnapshot(LocalDate.now(), LocalDate.MAX, true, trainingSessionService::getUpcomingTrainingSessions);
+    }
+
+    /**
+     * Sessions between two dates from the in-memory snapshot, without any query, or from the
+     * database while the snapshot is still loading
+     */
+    private List<TrainingSessionResponse> fromSnapshot(LocalDate startDate, LocalDate endDate, boolean activeOnly,
+                                                       Supplier<List<TrainingSessionResponse>> fallback) {
+        if (availabilitySnapshot.isReady()) {
+            return availabilitySnapshot.getSessions(startDate, endDate, activeOnly);
+        }
+        return fallback.get();
+    }
+
+    /**
+     * Whether the compact list view was requested; a sparse fieldset implies it
+     */
+    private static boolean isCompactView(String view, String fields) {
+        if (view == null || view.equals("full")) {
+            return fields != null;
+        }
+        if (!view.equals("compact")) {
+            throw new BadRequestException("Unknown view '" + view + "'. Allowed views: full, compact");
+        }
+        return true;
+    }
 }
@@ -0,0 +1,24 @@
+package com.clublosamigos.turnero.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * DTO broadcast to every node when a second-level cached entity changes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String originNode;
+    private String entityName;
+    private Long entityId;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * DTO for notification messages sent through RabbitMQ
@@ -22,6 +23,10 @@ public class NotificationMessage implements Serializable {
     private NotificationEventType eventType;
     private UserInfo user;
     private TrainingInfo training;
+    /** Every booked training of a series confirmation */
+    private List<TrainingInfo> trainings;
+    /** Users to notify of a session-level event, one notification each */
+    private List<UserInfo> recipients;
 
     /**
      * User information for notification
@@ -58,6 +63,7 @@ public class NotificationMessage implements Serializable {
      */
     public enum NotificationEventType {
         BOOKING_CONFIRMED,
+        BOOKING_SERIES_CONFIRMED,
         BOOKING_CANCELLED,
         SESSION_CANCELLED,
         SESSION_MODIFIED,
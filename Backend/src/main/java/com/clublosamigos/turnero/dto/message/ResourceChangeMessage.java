@@ -0,0 +1,49 @@
+package com.clublosamigos.turnero.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO broadcast to every node when a session, booking or user changes, so each node bumps the
+ * resource versions behind its ETags
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceChangeMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String originNode;
+    /** Value of the shared version counter taken by the change, or null if none could be taken */
+    private Long version;
+    private ResourceType resourceType;
+    private Long sessionId;
+    private LocalDate sessionDate;
+    /** Sessions of a bulk booking change, instead of sessionId */
+    private List<Long> sessionIds;
+    /** Dates of those sessions, instead of sessionDate */
+    private List<LocalDate> sessionDates;
+    private LocalDate previousDate;
+    private Long userId;
+    /** Owners of the bookings of a bulk booking change, instead of userId */
+    private List<Long> userIds;
+    /** True when the change altered the session's seat count */
+    private boolean seatsChanged;
+
+    /**
+     * Kind of resource that changed
+     */
+    public enum ResourceType {
+        SESSION,
+        BOOKING,
+        USER
+    }
+}
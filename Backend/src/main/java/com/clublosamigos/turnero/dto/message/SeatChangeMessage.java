@@ -0,0 +1,29 @@
+package com.clublosamigos.turnero.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO broadcast to every node when the seats of a training session change
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatChangeMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String originNode;
+    private Long sessionId;
+    private LocalDate sessionDate;
+    /** Date before the change when an update moved the session, otherwise null */
+    private LocalDate previousDate;
+    /** Change in confirmed participants: +1, -1, or 0 when the session itself changed */
+    private int participantDelta;
+}
@@ -0,0 +1,23 @@
+package com.clublosamigos.turnero.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * DTO broadcast to every node when a refresh-token family is revoked
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String familyId;
+    private Long expiresAtEpochMillis;
+}
@@ -0,0 +1,29 @@
+package com.clublosamigos.turnero.dto.message;
+
+import com.clublosamigos.turnero.event.UserChangedEvent.ChangeType;
+import com.clublosamigos.turnero.model.User.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * DTO broadcast to every node when cached user data must be dropped
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserInvalidationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+    private String email;
+    private UserRole role;
+    private ChangeType changeType;
+    /** When the change was committed, in epoch millis; tokens issued before it are rejected */
+    private long changedAt;
+}
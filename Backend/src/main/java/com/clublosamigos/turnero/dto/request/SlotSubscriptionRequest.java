@@ -0,0 +1,20 @@
+package com.clublosamigos.turnero.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to subscribe to a slot configuration
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSubscriptionRequest {
+
+    @NotNull(message = "Slot configuration ID is required")
+    private Long slotConfigurationId;
+}
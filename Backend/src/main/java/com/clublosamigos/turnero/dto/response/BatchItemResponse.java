@@ -0,0 +1,22 @@
+package com.clublosamigos.turnero.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch read, in the position of its requested id. Ids that do not exist, were
+ * deleted or are not visible to the caller come back with {@code found = false} and no data.
+ *
+ * @param <T> Resource type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResponse<T> {
+    private Long id;
+    private boolean found;
+    private T data;
+}
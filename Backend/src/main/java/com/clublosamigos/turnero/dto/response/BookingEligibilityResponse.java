@@ -0,0 +1,41 @@
+package com.clublosamigos.turnero.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whether a user can book a session, with the rule that prevents it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingEligibilityResponse {
+    private Long sessionId;
+    private boolean eligible;
+
+    /** First booking rule the session fails, in the order bookings are validated; null when eligible */
+    private Reason reason;
+
+    private boolean alreadyBooked;
+    private boolean overlapping;
+    private boolean full;
+    private Integer seatsLeft;
+
+    /**
+     * Booking rules, in validation order
+     */
+    public enum Reason {
+        NOT_FOUND,
+        NOT_ACTIVE,
+        ALREADY_HAPPENED,
+        ALREADY_STARTED,
+        ALREADY_BOOKED,
+        OVERLAPPING_BOOKING,
+        FULL
+    }
+}
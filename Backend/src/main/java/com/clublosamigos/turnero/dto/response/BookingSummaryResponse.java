@@ -0,0 +1,46 @@
+package com.clublosamigos.turnero.dto.response;
+
+import com.clublosamigos.turnero.model.Booking.BookingStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact list row of a booking, selected by a JPQL constructor projection. The session is
+ * referenced by id and side-loaded once in {@link CompactListResponse.Included#getSessions()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingSummaryResponse {
+
+    /** Fields that can be requested with {@code fields=}; the id is always returned */
+    public static final List<String> FIELDS = List.of("sessionId", "status", "createdAt", "updatedAt");
+
+    private Long id;
+    private Long sessionId;
+    private BookingStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Clear every field outside a sparse fieldset
+     *
+     * @param fields Requested fields, or null for all
+     */
+    public void retainFields(Set<String> fields) {
+        if (fields == null) {
+            return;
+        }
+        sessionId = fields.contains("sessionId") ? sessionId : null;
+        status = fields.contains("status") ? status : null;
+        createdAt = fields.contains("createdAt") ? createdAt : null;
+        updatedAt = fields.contains("updatedAt") ? updatedAt : null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.clublosamigos.turnero.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sessions and bookings changed since a change token. Upserted rows carry their current state,
+ * deleted rows are returned as id tombstones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse {
+
+    /** Token to send as {@code since} on the next call */
+    private Long nextToken;
+
+    /** True when more changes are waiting; call again right away with {@code nextToken} */
+    private boolean hasMore;
+
+    /** True when the token is older than the retained log; the client must reload its lists */
+    private boolean resetRequired;
+
+    @Builder.Default
+    private List<TrainingSessionResponse> sessions = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> deletedSessionIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<BookingResponse> bookings = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> deletedBookingIds = new ArrayList<>();
+}
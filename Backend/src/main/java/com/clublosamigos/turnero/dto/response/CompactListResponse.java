@@ -0,0 +1,52 @@
+package com.clublosamigos.turnero.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact list view: flat rows in {@code data}, with the objects they reference by id
+ * side-loaded once in {@code included} instead of being repeated in every row
+ *
+ * @param <T> Row type
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactListResponse<T> {
+
+    private List<T> data;
+
+    @Builder.Default
+    private Included included = new Included();
+
+    /**
+     * Side-loaded objects keyed by id; empty maps are omitted
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class Included {
+        private Map<Long, SessionSummaryResponse> sessions = new LinkedHashMap<>();
+        private Map<Long, TrainerSummary> trainers = new LinkedHashMap<>();
+    }
+
+    /**
+     * Trainer as shown in lists
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrainerSummary {
+        private Long id;
+        private String fullName;
+    }
+}
@@ -0,0 +1,25 @@
+package com.clublosamigos.turnero.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Seat availability update pushed on the availability stream
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatUpdateResponse {
+    private Long sessionId;
+    private LocalDate date;
+    private Integer seatsLeft;
+    /** Net change of seatsLeft since the previous update; 0 on the initial snapshot */
+    private Integer seatsDelta;
+    /** False once the session is cancelled or deleted */
+    private boolean active;
+}
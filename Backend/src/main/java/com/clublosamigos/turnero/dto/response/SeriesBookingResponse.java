@@ -0,0 +1,45 @@
+package com.clublosamigos.turnero.dto.response;
+
+import com.clublosamigos.turnero.dto.response.BookingEligibilityResponse.Reason;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Outcome of a series booking: one entry per session of the slot configuration in the range
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesBookingResponse {
+    private Long slotConfigurationId;
+    private int booked;
+    private int skipped;
+    private List<Occurrence> occurrences;
+
+    /**
+     * Result for one session of the series
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Occurrence {
+        private Long sessionId;
+        private LocalDate date;
+        private LocalTime startTime;
+        private boolean booked;
+        private Long bookingId;
+
+        /** Booking rule the session failed; null when it was booked */
+        private Reason reason;
+    }
+}
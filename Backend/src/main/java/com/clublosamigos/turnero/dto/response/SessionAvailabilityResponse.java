@@ -0,0 +1,28 @@
+package com.clublosamigos.turnero.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Compact availability row of an active training session for calendar views
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionAvailabilityResponse {
+    private Long sessionId;
+    private String name;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String location;
+    private String trainerName;
+    private Integer maxParticipants;
+    private Integer seatsLeft;
+}
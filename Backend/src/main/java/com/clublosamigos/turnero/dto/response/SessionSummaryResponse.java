@@ -0,0 +1,59 @@
+package com.clublosamigos.turnero.dto.response;
+
+import com.clublosamigos.turnero.model.TrainingSession.SessionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact list row of a training session, selected by a JPQL constructor projection.
+ * The description is never loaded and the trainer is referenced by id; trainers are
+ * side-loaded once per list in {@link CompactListResponse.Included#getTrainers()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionSummaryResponse {
+
+    /** Fields that can be requested with {@code fields=}; the id is always returned */
+    public static final List<String> FIELDS = List.of("name", "date", "startTime", "endTime", "location",
+            "maxParticipants", "currentParticipants", "status", "trainerId");
+
+    private Long id;
+    private String name;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String location;
+    private Integer maxParticipants;
+    private Long currentParticipants;
+    private SessionStatus status;
+    private Long trainerId;
+
+    /**
+     * Clear every field outside a sparse fieldset
+     *
+     * @param fields Requested fields, or null for all
+     */
+    public void retainFields(Set<String> fields) {
+        if (fields == null) {
+            return;
+        }
+        name = fields.contains("name") ? name : null;
+        date = fields.contains("date") ? date : null;
+        startTime = fields.contains("startTime") ? startTime : null;
+        endTime = fields.contains("endTime") ? endTime : null;
+        location = fields.contains("location") ? location : null;
+        maxParticipants = fields.contains("maxParticipants") ? maxParticipants : null;
+        currentParticipants = fields.contains("currentParticipants") ? currentParticipants : null;
+        status = fields.contains("status") ? status : null;
+        trainerId = fields.contains("trainerId") ? trainerId : null;
+    }
+}
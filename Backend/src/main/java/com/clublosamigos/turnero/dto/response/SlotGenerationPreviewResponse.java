@@ -0,0 +1,52 @@
+package com.clublosamigos.turnero.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Dry-run report of a slot configuration generation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotGenerationPreviewResponse {
+    private Long slotConfigurationId;
+    private int totalCandidates;
+    private int conflictingDates;
+    private List<LocalDate> availableDates;
+    private List<DateConflict> conflicts;
+
+    /**
+     * A candidate date that would not be generated
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DateConflict {
+        private LocalDate date;
+        private ConflictType type;
+        private Long conflictingSessionId;
+        private String conflictingSessionName;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private String description;
+    }
+
+    /**
+     * Reason a candidate date collides
+     */
+    public enum ConflictType {
+        PAST_DATE,
+        HOLIDAY,
+        TRAINER_BUSY,
+        LOCATION_BUSY
+    }
+}
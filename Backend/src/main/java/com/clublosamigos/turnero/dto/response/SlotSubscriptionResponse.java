@@ -0,0 +1,23 @@
+package com.clublosamigos.turnero.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slot subscription response DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSubscriptionResponse {
+    private Long id;
+    private Long slotConfigurationId;
+    private String slotConfigurationName;
+    private LocalDateTime lastBookedAt;
+    private LocalDateTime createdAt;
+}
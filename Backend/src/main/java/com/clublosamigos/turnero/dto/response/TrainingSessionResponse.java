@@ -12,7 +12,7 @@ import java.time.LocalTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TrainingSessionResponse {
@@ -0,0 +1,35 @@
+package com.clublosamigos.turnero.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published when a booking is created, cancelled or deleted.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class BookingChangedEvent {
+
+    private final Long bookingId;
+    private final Long userId;
+    private final Long sessionId;
+    private final LocalDate sessionDate;
+    private final ChangeType changeType;
+    /** Change in confirmed participants of the session: +1, -1 or 0 */
+    private final int participantDelta;
+
+    /**
+     * Kind of change applied to the booking
+     */
+    public enum ChangeType {
+        CREATED,
+        CANCELLED,
+        DELETED
+    }
+}
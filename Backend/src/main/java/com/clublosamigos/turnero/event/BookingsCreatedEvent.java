@@ -0,0 +1,36 @@
+package com.clublosamigos.turnero.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Application event published when bookings are created in bulk, such as a series booked in one
+ * request. Published once for all of them instead of one {@link BookingChangedEvent} per booking;
+ * every booking adds one confirmed participant to its session.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class BookingsCreatedEvent {
+
+    private final List<CreatedBooking> bookings;
+
+    /**
+     * A booking created in bulk
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class CreatedBooking {
+        private final Long bookingId;
+        private final Long userId;
+        private final Long sessionId;
+        private final LocalDate sessionDate;
+    }
+}
@@ -0,0 +1,40 @@
+package com.clublosamigos.turnero.event;
+
+import com.clublosamigos.turnero.service.SecondLevelCacheSync;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener for second-level cached entities. Once the transaction that inserted, updated or
+ * removed an entity commits, the change is broadcast so the other nodes evict their cached copy and
+ * their cached query results; an insert can change the result of a cached query (a lookup by email
+ * that found nothing, a list of slots) even though no node holds the new entity yet.
+ */
+public class SecondLevelCacheBroadcaster {
+
+    private final ObjectProvider<SecondLevelCacheSync> cacheSync;
+
+    public SecondLevelCacheBroadcaster(ObjectProvider<SecondLevelCacheSync> cacheSync) {
+        this.cacheSync = cacheSync;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheSync.getObject().broadcastEviction(entity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheSync.getObject().broadcastEviction(entity);
+            }
+        });
+    }
+}
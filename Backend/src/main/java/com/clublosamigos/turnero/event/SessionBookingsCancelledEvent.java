@@ -0,0 +1,35 @@
+package com.clublosamigos.turnero.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Application event published when cancelling or deleting a session cancels its confirmed bookings
+ * in bulk. Published once for all of them instead of one {@link BookingChangedEvent} per booking.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class SessionBookingsCancelledEvent {
+
+    private final Long sessionId;
+    private final LocalDate sessionDate;
+    private final List<CancelledBooking> bookings;
+
+    /**
+     * A booking cancelled with its session
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class CancelledBooking {
+        private final Long bookingId;
+        private final Long userId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.clublosamigos.turnero.event;
+
+import com.clublosamigos.turnero.model.RefreshToken.RevocationReason;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published when a refresh-token family is revoked by logout or reuse detection.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class TokenFamilyRevokedEvent {
+
+    private final String familyId;
+    /** Latest expiry of any token in the family; the revocation can be forgotten afterwards */
+    private final LocalDateTime expiresAt;
+    private final RevocationReason reason;
+}
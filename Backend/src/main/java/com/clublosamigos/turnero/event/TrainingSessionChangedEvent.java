@@ -0,0 +1,35 @@
+package com.clublosamigos.turnero.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published when a training session is created, modified, cancelled or deleted.
+ * Listeners that keep in-memory views of the calendar react to it after the transaction commits.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class TrainingSessionChangedEvent {
+
+    private final Long sessionId;
+    private final LocalDate date;
+    /** Date before the change when an update moved the session, otherwise null */
+    private final LocalDate previousDate;
+    private final ChangeType changeType;
+
+    /**
+     * Kind of change applied to the session
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        CANCELLED,
+        DELETED
+    }
+}
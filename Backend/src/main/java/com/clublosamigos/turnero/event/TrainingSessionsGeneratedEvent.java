@@ -0,0 +1,22 @@
+package com.clublosamigos.turnero.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Application event published when sessions are generated from a slot configuration. Subscribers
+ * of the configuration are booked into them after the generation commits.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class TrainingSessionsGeneratedEvent {
+
+    private final Long slotConfigurationId;
+    private final List<Long> sessionIds;
+}
@@ -0,0 +1,32 @@
+package com.clublosamigos.turnero.event;
+
+import com.clublosamigos.turnero.model.User.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Application event published when a user's profile, role or deletion state changes.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String email;
+    /** Role after the change */
+    private final UserRole role;
+    private final ChangeType changeType;
+
+    /**
+     * Kind of change applied to the user
+     */
+    public enum ChangeType {
+        PROFILE_UPDATED,
+        ROLE_CHANGED,
+        DELETED
+    }
+}
@@ -0,0 +1,18 @@
+package com.clublosamigos.turnero.exception;
+
+/**
+ * Exception thrown when a client exceeds a rate limit or the server is shedding load
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,69 @@
+package com.clublosamigos.turnero.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change of a training session or booking, ordered by a monotonic change token. Entries are inserted
+ * without a token in the writer's transaction and get one once that transaction committed; IDs are
+ * drawn in blocks from {@code change_log_id_sequence}, so bulk inserts stay batched.
+ */
+@Entity
+@Table(name = "change_log")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "change_log_id")
+    @TableGenerator(name = "change_log_id", table = "change_log_id_sequence",
+            pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "change_log",
+            allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    /** Position in the feed; null until the writer's transaction committed */
+    @Column(name = "token", unique = true)
+    private Long token;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /** Owner of the booking; null for sessions, which are visible to everyone */
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Kind of entity that changed
+     */
+    public enum EntityType {
+        SESSION,
+        BOOKING
+    }
+
+    /**
+     * Whether clients should refetch the entity or drop it
+     */
+    public enum ChangeType {
+        UPSERT,
+        DELETE
+    }
+}
@@ -0,0 +1,30 @@
+package com.clublosamigos.turnero.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shared counters. Row 1 hands out change log tokens, locked in a short transaction that numbers the
+ * entries already committed, so a token is never handed out before its entry is visible. Row 2 hands
+ * out resource versions, each allocated in its own short transaction after the change committed.
+ */
+@Entity
+@Table(name = "change_log_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogSequence {
+
+    public static final byte SINGLETON_ID = 1;
+
+    public static final byte RESOURCE_VERSIONS_ID = 2;
+
+    @Id
+    @Column(name = "id")
+    private Byte id;
+
+    @Column(name = "last_token", nullable = false)
+    private Long lastToken;
+}
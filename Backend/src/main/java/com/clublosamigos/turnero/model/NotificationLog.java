@@ -44,6 +44,7 @@ public class NotificationLog {
 
     public enum NotificationEventType {
         BOOKING_CONFIRMED,
+        BOOKING_SERIES_CONFIRMED,
         BOOKING_CANCELLED,
         SESSION_MODIFIED,
         SESSION_CANCELLED,
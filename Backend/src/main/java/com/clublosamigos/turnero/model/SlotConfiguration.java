@@ -1,10 +1,13 @@
 package com.clublosamigos.turnero.model;
 
+import com.clublosamigos.turnero.event.SecondLevelCacheBroadcaster;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +18,9 @@ import java.time.LocalDateTime;
  * Slot Configuration entity for creating recurring training sessions
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "turnero.slotConfiguration")
+@EntityListeners(SecondLevelCacheBroadcaster.class)
 @Table(name = "slot_configurations")
 @Data
 @Builder
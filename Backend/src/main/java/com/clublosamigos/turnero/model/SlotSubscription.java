@@ -0,0 +1,56 @@
+package com.clublosamigos.turnero.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subscription of a user to a slot configuration: the user is booked automatically into the
+ * sessions generated from it
+ */
+@Entity
+@Table(name = "slot_subscriptions",
+        uniqueConstraints = @UniqueConstraint(
+                name = "unique_slot_subscription",
+                columnNames = {"user_id", "slot_config_id"}
+        ))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "slot_config_id", nullable = false)
+    private SlotConfiguration slotConfiguration;
+
+    /** Last time an automatic booking was made for this subscription; null if never */
+    @Column(name = "last_booked_at")
+    private LocalDateTime lastBookedAt;
+
+    @Column(name = "is_deleted")
+    @Builder.Default
+    private Boolean isDeleted = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
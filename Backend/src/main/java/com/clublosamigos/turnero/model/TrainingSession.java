@@ -1,10 +1,13 @@
 package com.clublosamigos.turnero.model;
 
+import com.clublosamigos.turnero.event.SecondLevelCacheBroadcaster;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +19,9 @@ import java.time.LocalTime;
  * Training Session entity representing scheduled training sessions
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "turnero.trainingSession")
+@EntityListeners(SecondLevelCacheBroadcaster.class)
 @Table(name = "training_sessions")
 @Data
 @Builder
@@ -23,8 +29,12 @@ import java.time.LocalTime;
 @AllArgsConstructor
 public class TrainingSession {
 
+    /** Allocated in blocks rather than by AUTO_INCREMENT so generated sessions are inserted in JDBC batches */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "training_session_id")
+    @TableGenerator(name = "training_session_id", table = "training_session_id_sequence",
+            pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "training_sessions",
+            allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
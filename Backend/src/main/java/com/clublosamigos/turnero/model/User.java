@@ -1,10 +1,13 @@
 package com.clublosamigos.turnero.model;
 
+import com.clublosamigos.turnero.event.SecondLevelCacheBroadcaster;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +17,9 @@ import java.time.LocalDateTime;
  * User entity representing system users (Admin, Trainer, Regular User)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "turnero.user")
+@EntityListeners(SecondLevelCacheBroadcaster.class)
 @Table(name = "users")
 @Data
 @Builder
@@ -1,20 +1,23 @@
 package com.clublosamigos.turnero.repository;
 
+import com.clublosamigos.turnero.dto.response.BookingSummaryResponse;
 import com.clublosamigos.turnero.model.Booking;
 import com.clublosamigos.turnero.model.Booking.BookingStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    boolean existsByUserIdAndTrainingSessionIdAndIsDeletedFalse(Long userId, Long trainingSessionId);
-
     List<Booking> findByIsDeletedFalse();
 
     Optional<Booking> findByIdAndIsDeletedFalse(Long id);
@@ -35,24 +38,119 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             """)
     List<Booking> findUpcomingBookingsByUser(Long userId);
 
+    /**
+     * Compact list rows of a user's bookings in session order; upcoming only keeps confirmed future ones
+     */
+    @Query("""
+            SELECT new com.clublosamigos.turnero.dto.response.BookingSummaryResponse(
+                   b.id, ts.id, b.status, b.createdAt, b.updatedAt)
+            FROM Booking b JOIN b.trainingSession ts
+            WHERE b.user.id = :userId
+              AND b.isDeleted = false
+              AND (:upcomingOnly = false OR (b.status = 'CONFIRMED' AND ts.date >= CURRENT_DATE))
+            ORDER BY ts.date ASC, ts.startTime ASC
+            """)
+    List<BookingSummaryResponse> findSummariesByUser(Long userId, boolean upcomingOnly);
+
     @Query("""
-            SELECT COUNT(b) FROM Booking b
-            WHERE b.trainingSession.id = :trainingSessionId
+            SELECT b.trainingSession.id, COUNT(b) FROM Booking b
+            WHERE b.trainingSession.id IN :sessionIds
               AND b.status = 'CONFIRMED'
               AND b.isDeleted = false
+            GROUP BY b.trainingSession.id
             """)
-    Long countConfirmedBookings(Long trainingSessionId);
+    List<Object[]> countConfirmedBookingsBySessionIds(Collection<Long> sessionIds);
 
+    /**
+     * A user's non-deleted bookings on the given dates as (session id, status, date, start time, end time)
+     */
     @Query("""
-            SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b
+            SELECT ts.id, b.status, ts.date, ts.startTime, ts.endTime FROM Booking b JOIN b.trainingSession ts
             WHERE b.user.id = :userId
               AND b.isDeleted = false
+              AND ts.date IN :dates
+            """)
+    List<Object[]> findUserBookingRowsOnDates(Long userId, Collection<LocalDate> dates);
+
+    /**
+     * Non-deleted bookings of many users on the given dates, in the layout of
+     * {@link #findUserBookingRowsOnDates} followed by the user id
+     */
+    @Query("""
+            SELECT ts.id, b.status, ts.date, ts.startTime, ts.endTime, b.user.id FROM Booking b JOIN b.trainingSession ts
+            WHERE b.user.id IN :userIds
+              AND b.isDeleted = false
+              AND ts.date IN :dates
+            """)
+    List<Object[]> findBookingRowsOfUsersOnDates(Collection<Long> userIds, Collection<LocalDate> dates);
+
+    List<Booking> findByTrainingSessionIdInAndIsDeletedFalse(Collection<Long> trainingSessionIds);
+
+    List<Booking> findByUserIdAndTrainingSessionIdInAndIsDeletedFalse(Long userId, Collection<Long> trainingSessionIds);
+
+    /**
+     * Insert confirmed bookings of one user for many sessions in a single statement. Sessions the user
+     * already has a row for, even a deleted one, are skipped instead of violating the unique key.
+     *
+     * @return Number of bookings inserted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO bookings (user_id, training_session_id, status, is_deleted, created_at, updated_at)
+            SELECT :userId, ts.id, 'CONFIRMED', false, NOW(), NOW() FROM training_sessions ts
+            WHERE ts.id IN :sessionIds
+              AND NOT EXISTS (
+                  SELECT 1 FROM bookings b
+                  WHERE b.user_id = :userId
+                    AND b.training_session_id = ts.id)
+            """, nativeQuery = true)
+    int insertConfirmedBookings(Long userId, Collection<Long> sessionIds);
+
+    /**
+     * Insert confirmed bookings of many users for one session in a single statement, skipping users
+     * that already have a row for it
+     *
+     * @return Number of bookings inserted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO bookings (user_id, training_session_id, status, is_deleted, created_at, updated_at)
+            SELECT u.id, :sessionId, 'CONFIRMED', false, NOW(), NOW() FROM users u
+            WHERE u.id IN :userIds
+              AND NOT EXISTS (
+                  SELECT 1 FROM bookings b
+                  WHERE b.user_id = u.id
+                    AND b.training_session_id = :sessionId)
+            """, nativeQuery = true)
+    int insertConfirmedBookingsForUsers(Long sessionId, Collection<Long> userIds);
+
+    /**
+     * Lock the confirmed bookings of a session until the current transaction ends. The locking read
+     * sees the latest committed rows and blocks new bookings of the session, so a following
+     * {@link #cancelConfirmedBySession} updates exactly these rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT b FROM Booking b JOIN FETCH b.user
+            WHERE b.trainingSession.id = :sessionId
               AND b.status = 'CONFIRMED'
-              AND b.trainingSession.date = :date
-              AND b.trainingSession.startTime < :endTime
-              AND b.trainingSession.endTime > :startTime
+              AND b.isDeleted = false
+            """)
+    List<Booking> lockConfirmedWithUserBySession(Long sessionId);
+
+    /**
+     * Cancel every confirmed booking of a session, in one statement
+     *
+     * @return Number of bookings cancelled
+     */
+    @Modifying
+    @Query("""
+            UPDATE Booking b SET b.status = 'CANCELLED', b.updatedAt = CURRENT_TIMESTAMP
+            WHERE b.trainingSession.id = :sessionId
+              AND b.status = 'CONFIRMED'
+              AND b.isDeleted = false
             """)
-    boolean hasOverlappingBooking(Long userId, java.time.LocalDate date, java.time.LocalTime startTime, java.time.LocalTime endTime);
+    int cancelConfirmedBySession(Long sessionId);
 
     List<Booking> findByTrainingSession_DateAndStatusAndIsDeletedFalse(LocalDate date, BookingStatus status);
 }
@@ -0,0 +1,84 @@
+package com.clublosamigos.turnero.repository;
+
+import com.clublosamigos.turnero.model.ChangeLogEntry;
+import com.clublosamigos.turnero.model.ChangeLogSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Lock the token counter until the current transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s FROM ChangeLogSequence s
+            WHERE s.id = 1
+            """)
+    ChangeLogSequence lockSequence();
+
+    /**
+     * Lock one of the shared counters until the current transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s FROM ChangeLogSequence s
+            WHERE s.id = :id
+            """)
+    Optional<ChangeLogSequence> lockSequence(Byte id);
+
+    @Query("""
+            SELECT s.lastToken FROM ChangeLogSequence s
+            WHERE s.id = :id
+            """)
+    Optional<Long> findLastValue(Byte id);
+
+    @Query("""
+            SELECT s.lastToken FROM ChangeLogSequence s
+            WHERE s.id = 1
+            """)
+    Optional<Long> findLatestToken();
+
+    @Query("""
+            SELECT MIN(c.token) FROM ChangeLogEntry c
+            """)
+    Optional<Long> findOldestToken();
+
+    /**
+     * Committed entries still waiting for a token, in insertion order
+     */
+    @Query("""
+            SELECT c FROM ChangeLogEntry c
+            WHERE c.token IS NULL
+            ORDER BY c.id ASC
+            """)
+    List<ChangeLogEntry> findPending(Pageable pageable);
+
+    /**
+     * Session changes plus the booking changes of one user after the given token, oldest first
+     */
+    @Query("""
+            SELECT c FROM ChangeLogEntry c
+            WHERE c.token > :since
+              AND (c.entityType = 'SESSION' OR c.userId = :userId)
+            ORDER BY c.token ASC
+            """)
+    List<ChangeLogEntry> findChangesSince(Long since, Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            DELETE FROM ChangeLogEntry c
+            WHERE c.changedAt < :cutoff
+            """)
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,14 @@
+package com.clublosamigos.turnero.repository;
+
+import com.clublosamigos.turnero.model.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByDateBetween(LocalDate startDate, LocalDate endDate);
+}
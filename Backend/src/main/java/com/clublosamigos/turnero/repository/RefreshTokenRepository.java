@@ -0,0 +1,62 @@
+package com.clublosamigos.turnero.repository;
+
+import com.clublosamigos.turnero.model.RefreshToken;
+import com.clublosamigos.turnero.model.RefreshToken.RevocationReason;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByJti(String jti);
+
+    /**
+     * Mark a still valid token as rotated. Returns 0 when the token was already revoked, which
+     * means it is being replayed (or refreshed concurrently).
+     */
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+            SET t.revoked = true, t.revocationReason = 'ROTATED', t.revokedAt = :now, t.replacedBy = :replacedBy
+            WHERE t.jti = :jti AND t.revoked = false
+            """)
+    int rotate(String jti, String replacedBy, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t
+            SET t.revoked = true, t.revocationReason = :reason, t.revokedAt = :now
+            WHERE t.familyId = :familyId AND t.revoked = false
+            """)
+    int revokeFamily(String familyId, RevocationReason reason, LocalDateTime now);
+
+    @Query("""
+            SELECT MAX(t.expiresAt) FROM RefreshToken t
+            WHERE t.familyId = :familyId
+            """)
+    Optional<LocalDateTime> findFamilyExpiry(String familyId);
+
+    /**
+     * Families revoked by logout or reuse detection whose tokens have not expired yet, as
+     * (familyId, latest expiresAt) rows
+     */
+    @Query("""
+            SELECT t.familyId, MAX(t.expiresAt) FROM RefreshToken t
+            WHERE t.revocationReason IN ('LOGOUT', 'REUSE_DETECTED') AND t.expiresAt > :now
+            GROUP BY t.familyId
+            """)
+    List<Object[]> findRevokedFamilies(LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            DELETE FROM RefreshToken t
+            WHERE t.expiresAt < :cutoff
+            """)
+    int deleteExpired(LocalDateTime cutoff);
+}
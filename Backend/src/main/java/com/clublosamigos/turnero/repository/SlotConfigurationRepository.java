@@ -1,7 +1,10 @@
 package com.clublosamigos.turnero.repository;
 
 import com.clublosamigos.turnero.model.SlotConfiguration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +13,6 @@ import java.util.Optional;
 @Repository
 public interface SlotConfigurationRepository extends JpaRepository<SlotConfiguration, Long> {
     List<SlotConfiguration> findByIsDeletedFalse();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SlotConfiguration> findByIdAndIsDeletedFalse(Long id);
 }
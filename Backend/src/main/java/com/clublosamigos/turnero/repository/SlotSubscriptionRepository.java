@@ -0,0 +1,48 @@
+package com.clublosamigos.turnero.repository;
+
+import com.clublosamigos.turnero.model.SlotSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SlotSubscriptionRepository extends JpaRepository<SlotSubscription, Long> {
+
+    Optional<SlotSubscription> findByUserIdAndSlotConfigurationId(Long userId, Long slotConfigId);
+
+    @Query("""
+            SELECT s FROM SlotSubscription s JOIN FETCH s.slotConfiguration sc
+            WHERE s.user.id = :userId
+              AND s.isDeleted = false
+              AND sc.isDeleted = false
+            ORDER BY sc.name ASC
+            """)
+    List<SlotSubscription> findActiveByUser(Long userId);
+
+    /**
+     * Active subscriptions of a configuration with their users, least recently served first, then
+     * oldest first
+     */
+    @Query("""
+            SELECT s FROM SlotSubscription s JOIN FETCH s.user u
+            WHERE s.slotConfiguration.id = :slotConfigId
+              AND s.isDeleted = false
+              AND u.isDeleted = false
+            ORDER BY s.lastBookedAt ASC NULLS FIRST, s.createdAt ASC, s.id ASC
+            """)
+    List<SlotSubscription> findActiveBySlotConfigurationInServiceOrder(Long slotConfigId);
+
+    @Modifying
+    @Query("""
+            UPDATE SlotSubscription s SET s.lastBookedAt = :bookedAt
+            WHERE s.slotConfiguration.id = :slotConfigId
+              AND s.user.id IN :userIds
+            """)
+    int markBooked(Long slotConfigId, Collection<Long> userIds, LocalDateTime bookedAt);
+}
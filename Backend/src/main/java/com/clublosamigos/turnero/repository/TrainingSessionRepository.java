@@ -1,11 +1,19 @@
 package com.clublosamigos.turnero.repository;
 
+import com.clublosamigos.turnero.dto.response.SessionSummaryResponse;
 import com.clublosamigos.turnero.model.TrainingSession;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,12 +26,39 @@ public interface TrainingSessionRepository extends JpaRepository<TrainingSession
 
     List<TrainingSession> findByDateAndIsDeletedFalse(LocalDate date);
 
+    List<TrainingSession> findByDateAndIsDeletedFalseOrderByStartTimeAsc(LocalDate date);
+
     List<TrainingSession> findByTrainerIdAndIsDeletedFalse(Long trainerId);
 
     List<TrainingSession> findByDateBetweenAndIsDeletedFalse(LocalDate startDate, LocalDate endDate);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TrainingSession> findByIdAndIsDeletedFalse(Long id);
 
+    /**
+     * Lock a session exclusively until the current transaction ends, so no booking of it can be
+     * created or cancelled meanwhile
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT ts FROM TrainingSession ts
+            WHERE ts.id = :id
+              AND ts.isDeleted = false
+            """)
+    Optional<TrainingSession> lockById(Long id);
+
+    /**
+     * Lock a session shared until the current transaction ends, so it cannot be cancelled or
+     * deleted while it is being booked
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+            SELECT ts FROM TrainingSession ts
+            WHERE ts.id = :id
+              AND ts.isDeleted = false
+            """)
+    Optional<TrainingSession> lockSharedById(Long id);
+
     @Query("""
             SELECT ts FROM TrainingSession ts
             WHERE ts.isDeleted = false
@@ -33,6 +68,29 @@ public interface TrainingSessionRepository extends JpaRepository<TrainingSession
             """)
     List<TrainingSession> findUpcomingSessions(LocalDate currentDate);
 
+    /**
+     * Sessions of a slot configuration in a date range, locked shared until the current
+     * transaction ends so they cannot be cancelled or deleted while they are being booked
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+            SELECT ts FROM TrainingSession ts
+            WHERE ts.slotConfiguration.id = :slotConfigId
+              AND ts.isDeleted = false
+              AND ts.date BETWEEN :startDate AND :endDate
+            ORDER BY ts.date ASC, ts.startTime ASC
+            """)
+    List<TrainingSession> findBySlotConfigurationBetween(Long slotConfigId, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT ts FROM TrainingSession ts JOIN FETCH ts.trainer
+            WHERE ts.isDeleted = false
+              AND ts.status = 'ACTIVE'
+              AND ts.date BETWEEN :startDate AND :endDate
+            ORDER BY ts.date ASC, ts.startTime ASC
+            """)
+    List<TrainingSession> findActiveWithTrainerBetween(LocalDate startDate, LocalDate endDate);
+
     @Query("""
             SELECT ts FROM TrainingSession ts WHERE ts.isDeleted = false
               AND (LOWER(ts.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
@@ -41,6 +99,48 @@ public interface TrainingSessionRepository extends JpaRepository<TrainingSession
             """)
     List<TrainingSession> searchTrainingSessions(String searchTerm);
 
+    @Query("""
+            SELECT ts FROM TrainingSession ts
+            WHERE ts.isDeleted = false
+              AND ts.status <> 'CANCELLED'
+              AND ts.trainer.id = :trainerId
+              AND ts.date BETWEEN :startDate AND :endDate
+            """)
+    List<TrainingSession> findScheduledByTrainerInRange(Long trainerId, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT ts FROM TrainingSession ts
+            WHERE ts.isDeleted = false
+              AND ts.status <> 'CANCELLED'
+              AND ts.location = :location
+              AND ts.date BETWEEN :startDate AND :endDate
+            """)
+    List<TrainingSession> findScheduledByLocationInRange(String location, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+            SELECT CASE WHEN COUNT(ts) > 0 THEN true ELSE false END FROM TrainingSession ts
+            WHERE ts.trainer.id = :trainerId
+              AND ts.date = :date
+              AND ts.startTime < :endTime
+              AND ts.endTime > :startTime
+              AND ts.isDeleted = false
+              AND ts.status <> 'CANCELLED'
+              AND (:excludeId IS NULL OR ts.id <> :excludeId)
+            """)
+    boolean hasTrainerOverlap(Long trainerId, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludeId);
+
+    @Query("""
+            SELECT CASE WHEN COUNT(ts) > 0 THEN true ELSE false END FROM TrainingSession ts
+            WHERE ts.location = :location
+              AND ts.date = :date
+              AND ts.startTime < :endTime
+              AND ts.endTime > :startTime
+              AND ts.isDeleted = false
+              AND ts.status <> 'CANCELLED'
+              AND (:excludeId IS NULL OR ts.id <> :excludeId)
+            """)
+    boolean hasLocationOverlap(String location, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludeId);
+
     @Query("""
             SELECT COUNT(b) FROM Booking b
             WHERE b.trainingSession.id = :sessionId
@@ -48,4 +148,105 @@ public interface TrainingSessionRepository extends JpaRepository<TrainingSession
               AND b.isDeleted = false
             """)
     Long countCurrentParticipants(Long sessionId);
+
+    @Query("""
+            SELECT b.trainingSession.id, COUNT(b) FROM Booking b
+            WHERE b.trainingSession.id IN :sessionIds
+              AND b.status = 'CONFIRMED'
+              AND b.isDeleted = false
+            GROUP BY b.trainingSession.id
+            """)
+    List<Object[]> countCurrentParticipantsBySessionIds(Collection<Long> sessionIds);
+
+    /**
+     * Seat rows of active sessions as (id, date, maxParticipants, confirmed bookings)
+     */
+    @Query("""
+            SELECT ts.id, ts.date, ts.maxParticipants,
+                   (SELECT COUNT(b) FROM Booking b
+                    WHERE b.trainingSession = ts AND b.status = 'CONFIRMED' AND b.isDeleted = false)
+            FROM TrainingSession ts
+            WHERE ts.id IN :sessionIds
+              AND ts.isDeleted = false
+              AND ts.status = 'ACTIVE'
+            """)
+    List<Object[]> findSeatRowsBySessionIds(Collection<Long> sessionIds);
+
+    /**
+     * Seat rows of active sessions on the given dates as (id, date, maxParticipants, confirmed bookings)
+     */
+    @Query("""
+            SELECT ts.id, ts.date, ts.maxParticipants,
+                   (SELECT COUNT(b) FROM Booking b
+                    WHERE b.trainingSession = ts AND b.status = 'CONFIRMED' AND b.isDeleted = false)
+            FROM TrainingSession ts
+            WHERE ts.date IN :dates
+              AND ts.isDeleted = false
+              AND ts.status = 'ACTIVE'
+            """)
+    List<Object[]> findSeatRowsByDates(Collection<LocalDate> dates);
+
+    @Query("""
+            SELECT b.trainingSession.id, COUNT(b) FROM Booking b
+            WHERE b.status = 'CONFIRMED'
+              AND b.isDeleted = false
+            GROUP BY b.trainingSession.id
+            """)
+    List<Object[]> countAllCurrentParticipants();
+
+    /**
+     * Compact list rows without the description or the trainer entity, in calendar order.
+     * Null dates leave the range open.
+     */
+    @Query("""
+            SELECT new com.clublosamigos.turnero.dto.response.SessionSummaryResponse(
+                   ts.id, ts.name, ts.date, ts.startTime, ts.endTime, ts.location, ts.maxParticipants,
+                   (SELECT COUNT(b) FROM Booking b
+                    WHERE b.trainingSession = ts AND b.status = 'CONFIRMED' AND b.isDeleted = false),
+                   ts.status, ts.trainer.id)
+            FROM TrainingSession ts
+            WHERE ts.isDeleted = false
+              AND (:activeOnly = false OR ts.status = 'ACTIVE')
+              AND (:startDate IS NULL OR ts.date >= :startDate)
+              AND (:endDate IS NULL OR ts.date <= :endDate)
+            ORDER BY ts.date ASC, ts.startTime ASC
+            """)
+    List<SessionSummaryResponse> findSummaries(LocalDate startDate, LocalDate endDate, boolean activeOnly);
+
+    /**
+     * Compact list rows of the given sessions, deleted ones included so bookings can still show them
+     */
+    @Query("""
+            SELECT new com.clublosamigos.turnero.dto.response.SessionSummaryResponse(
+                   ts.id, ts.name, ts.date, ts.startTime, ts.endTime, ts.location, ts.maxParticipants,
+                   (SELECT COUNT(b) FROM Booking b
+                    WHERE b.trainingSession = ts AND b.status = 'CONFIRMED' AND b.isDeleted = false),
+                   ts.status, ts.trainer.id)
+            FROM TrainingSession ts
+            WHERE ts.id IN :sessionIds
+            """)
+    List<SessionSummaryResponse> findSummariesByIds(Collection<Long> sessionIds);
+
+    /**
+     * Searchable text of sessions: id, name, location, trainer full name
+     */
+    @Query("""
+            SELECT ts.id, ts.name, ts.location, t.fullName FROM TrainingSession ts JOIN ts.trainer t
+            WHERE ts.isDeleted = false
+            """)
+    List<Object[]> findSearchRows();
+
+    @Query("""
+            SELECT ts.id, ts.name, ts.location, t.fullName FROM TrainingSession ts JOIN ts.trainer t
+            WHERE ts.isDeleted = false
+              AND ts.id = :sessionId
+            """)
+    List<Object[]> findSearchRowById(Long sessionId);
+
+    @Query("""
+            SELECT ts.id, ts.name, ts.location, t.fullName FROM TrainingSession ts JOIN ts.trainer t
+            WHERE ts.isDeleted = false
+              AND t.id = :trainerId
+            """)
+    List<Object[]> findSearchRowsByTrainerId(Long trainerId);
 }
@@ -2,7 +2,10 @@ package com.clublosamigos.turnero.repository;
 
 import com.clublosamigos.turnero.model.User;
 import com.clublosamigos.turnero.model.User.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmailAndIsDeletedFalse(String email);
 
     boolean existsByEmailAndIsDeletedFalse(String email);
@@ -18,6 +22,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByIsDeletedFalse();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByIdAndIsDeletedFalse(Long id);
 
     List<User> findByRoleAndIsDeletedFalse(UserRole role);
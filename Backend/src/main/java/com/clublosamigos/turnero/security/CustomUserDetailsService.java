@@ -2,6 +2,8 @@ package com.clublosamigos.turnero.security;
 
 import com.clublosamigos.turnero.model.User;
 import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.service.UserSnapshotCache;
+import com.clublosamigos.turnero.service.UserSnapshotCache.UserSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,11 +18,15 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
+    /**
+     * Load a user with its password hash. Reads the user row rather than the snapshot cache, which
+     * keeps no hashes; only the authentication paths come through here.
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmailAndIsDeletedFalse(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        User user = loadUserEntityByEmail(email);
 
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
@@ -29,6 +35,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
     }
 
+    /**
+     * Resolve the id of a user from the cached snapshot
+     */
+    public Long loadUserIdByEmail(String email) {
+        return userSnapshotCache.findByEmail(email)
+                .map(UserSnapshot::getId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+    }
+
     public User loadUserEntityByEmail(String email) {
         return userRepository.findByEmailAndIsDeletedFalse(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
@@ -1,5 +1,8 @@
 package com.clublosamigos.turnero.security;
 
+import com.clublosamigos.turnero.security.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,48 +10,70 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests from the bearer token alone: the token is parsed and verified once, cached
+ * in {@link VerifiedTokenCache} until it expires, and the authorities come from its roles claim, so no
+ * user lookup happens per request. {@link UserStateCache} rejects tokens of deleted users and tokens
+ * issued before a role change; {@link RevokedTokenRegistry} rejects tokens of logged-out families.
+ * Refresh tokens are never accepted as access tokens.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedTokenRegistry revokedTokenRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtUtil.extractUsername(jwt);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(authHeader.substring(7), request);
+        }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        filterChain.doFilter(request, response);
+    }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+    private void authenticate(String jwt, HttpServletRequest request) {
+        VerifiedToken verified = verifiedTokenCache.get(jwt);
+        if (verified == null) {
+            final Claims claims;
+            try {
+                claims = jwtUtil.parseClaims(jwt);
+            } catch (JwtException | IllegalArgumentException ex) {
+                return;
+            }
+            if (claims.getSubject() == null || claims.getExpiration() == null || jwtUtil.isRefreshToken(claims)) {
+                return;
             }
+            verified = verifiedTokenCache.put(jwt, claims, jwtUtil.extractRoles(claims), jwtUtil.extractFamilyId(claims));
         }
 
-        filterChain.doFilter(request, response);
+        if (revokedTokenRegistry.isRevoked(verified.getFamilyId())
+                || !userStateCache.isCurrent(verified.getSubject(), verified.getRoles(), verified.getIssuedAt())) {
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                verified.getPrincipal(), null, verified.getPrincipal().getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 }
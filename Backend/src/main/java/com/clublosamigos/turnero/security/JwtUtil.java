@@ -1,14 +1,18 @@
 package com.clublosamigos.turnero.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -29,37 +33,67 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * Derive the HMAC key and the (thread-safe) parser once instead of on every call
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String CLAIM_FAMILY_ID = "fid";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     /**
      * Generate JWT token for user
+     *
+     * @param familyId Refresh-token family the access token was issued from, so revoking the
+     *                 family also rejects its access tokens
      */
-    public String generateAccessToken(UserDetails userDetails) {
-        return buildToken(userDetails, expiration);
+    public String generateAccessToken(UserDetails userDetails, String familyId) {
+        Map<String, Object> claims = buildClaims(userDetails, TOKEN_TYPE_ACCESS, familyId);
+        return createToken(claims, userDetails.getUsername(), expiration, null);
     }
 
     /**
      * Generate refresh token
+     *
+     * @param jti Unique id of this refresh token
+     * @param familyId Family shared by every token rotated from the same login
      */
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(userDetails, refreshExpiration);
+    public String generateRefreshToken(UserDetails userDetails, String jti, String familyId) {
+        Map<String, Object> claims = buildClaims(userDetails, TOKEN_TYPE_REFRESH, familyId);
+        return createToken(claims, userDetails.getUsername(), refreshExpiration, jti);
     }
 
-    private String buildToken(UserDetails userDetails, Long expirationValue) {
+    private Map<String, Object> buildClaims(UserDetails userDetails, String tokenType, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", userDetails.getAuthorities().stream()
                 .map(grantedAuthority -> grantedAuthority.getAuthority())
                 .toList());
-        return createToken(claims, userDetails.getUsername(), expirationValue);
+        claims.put(CLAIM_TOKEN_TYPE, tokenType);
+        claims.put(CLAIM_FAMILY_ID, familyId);
+        return claims;
     }
 
     /**
      * Create JWT token with claims
      */
-    private String createToken(Map<String, Object> claims, String subject, Long expirationValue) {
+    private String createToken(Map<String, Object> claims, String subject, Long expirationValue, String jti) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationValue);
 
         return Jwts.builder()
                 .claims(claims)
+                .id(jti)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -71,7 +105,7 @@ public class JwtUtil {
      * Get signing key from secret
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     /**
@@ -92,38 +126,49 @@ public class JwtUtil {
      * Extract claim from token
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
     /**
-     * Extract all claims from token
+     * Verify the signature and expiry and return the claims in a single parse
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered or expired
      */
-    private Claims extractAllClaims(String token) {
-        SecretKey key = getSigningKey();
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Check if token is expired
+     * Extract the granted roles carried in the token
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof List<?> values)) {
+            return Collections.emptyList();
+        }
+        return values.stream().map(String::valueOf).toList();
     }
 
     /**
-     * Validate token
+     * @return true for refresh tokens, which must not be accepted as access tokens
      */
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean isRefreshToken(Claims claims) {
+        return TOKEN_TYPE_REFRESH.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    /**
+     * Extract the refresh-token family the token belongs to, null for tokens issued before rotation
+     */
+    public String extractFamilyId(Claims claims) {
+        return claims.get(CLAIM_FAMILY_ID, String.class);
     }
 
     public Long getAccessTokenTtl() {
         return expiration;
     }
+
+    public Long getRefreshTokenTtl() {
+        return refreshExpiration;
+    }
 }
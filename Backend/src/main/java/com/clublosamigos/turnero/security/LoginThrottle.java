@@ -0,0 +1,148 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets guarding {@code /api/auth/login}. The per-IP bucket is charged for every attempt
+ * and stops a single client from spraying many accounts. Failed logins are charged to the
+ * account twice: to a bucket of that client and account, which stops one client guessing one
+ * password, and to a larger bucket of the account across all clients, which slows a distributed
+ * attack on it. Successful and already throttled attempts are never charged to an account, so
+ * failures from other clients cannot lock its owner out on their own. Everything is checked before
+ * any password hashing happens. Buckets that have refilled completely are dropped periodically,
+ * so memory only holds recently active clients.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.login-throttle.ip.refill-per-minute:10}")
+    private int ipRefillPerMinute;
+
+    @Value("${auth.login-throttle.account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${auth.login-throttle.account.refill-per-minute:1}")
+    private int accountRefillPerMinute;
+
+    @Value("${auth.login-throttle.account-total.capacity:20}")
+    private int accountTotalCapacity;
+
+    @Value("${auth.login-throttle.account-total.refill-per-minute:5}")
+    private int accountTotalRefillPerMinute;
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    /** Failures per client and account, keyed by "ip|account" */
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    /** Failures per account across all clients */
+    private final Map<String, TokenBucket> accountTotalBuckets = new ConcurrentHashMap<>();
+
+    private Counter ipThrottled;
+    private Counter accountThrottled;
+
+    @PostConstruct
+    void registerMetrics() {
+        ipThrottled = Counter.builder("auth.login.throttled")
+                .tag("scope", "ip")
+                .description("Login attempts rejected by the per-IP limit")
+                .register(meterRegistry);
+        accountThrottled = Counter.builder("auth.login.throttled")
+                .tag("scope", "account")
+                .description("Login attempts rejected by the per-account failure limits")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.buckets", this, LoginThrottle::bucketCount)
+                .description("Login throttle buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one login attempt from the client's budget and check that the account has not failed
+     * too often. The account budgets are only checked here; {@link #recordFailure} charges them.
+     *
+     * @param clientIp Client address
+     * @param email Account being logged into
+     * @throws TooManyRequestsException if the client's budget or an account failure budget is exhausted
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.nanoTime();
+
+        TokenBucket ipBucket = ipBuckets.computeIfAbsent(clientIp,
+                key -> new TokenBucket(ipCapacity, ipRefillPerMinute, Duration.ofMinutes(1)));
+        if (ipBucket.tryConsume(now) < 0) {
+            ipThrottled.increment();
+            throw rejection(ipBucket, now);
+        }
+
+        String account = normalize(email);
+        TokenBucket accountBucket = accountBuckets.get(clientIp + "|" + account);
+        if (accountBucket != null && accountBucket.available(now) < 1) {
+            accountThrottled.increment();
+            throw rejection(accountBucket, now);
+        }
+        TokenBucket accountTotalBucket = accountTotalBuckets.get(account);
+        if (accountTotalBucket != null && accountTotalBucket.available(now) < 1) {
+            accountThrottled.increment();
+            throw rejection(accountTotalBucket, now);
+        }
+    }
+
+    /**
+     * Charge a failed login to the account, both for this client and across all clients
+     *
+     * @param clientIp Client address
+     * @param email Account that failed to log in
+     */
+    public void recordFailure(String clientIp, String email) {
+        long now = System.nanoTime();
+        String account = normalize(email);
+        accountBuckets.computeIfAbsent(clientIp + "|" + account,
+                key -> new TokenBucket(accountCapacity, accountRefillPerMinute, Duration.ofMinutes(1)))
+                .tryConsume(now);
+        accountTotalBuckets.computeIfAbsent(account,
+                key -> new TokenBucket(accountTotalCapacity, accountTotalRefillPerMinute, Duration.ofMinutes(1)))
+                .tryConsume(now);
+    }
+
+    /**
+     * Drop buckets that have fully refilled
+     */
+    @Scheduled(fixedDelayString = "${auth.login-throttle.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        accountBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        accountTotalBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private int bucketCount() {
+        return ipBuckets.size() + accountBuckets.size() + accountTotalBuckets.size();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static TooManyRequestsException rejection(TokenBucket bucket, long now) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(now) + 999_999_999L));
+        return new TooManyRequestsException("Too many login attempts, please try again later", retryAfter);
+    }
+}
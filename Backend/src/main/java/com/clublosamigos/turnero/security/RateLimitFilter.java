@@ -0,0 +1,241 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.dto.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client request rate limiting. Runs after {@link JwtAuthenticationFilter} so authenticated
+ * callers are limited per user and anonymous callers per IP. Routes listed in
+ * {@code rate-limit.routes} (see {@link RateLimitRoutes}) have their own budgets, such as the
+ * stricter one for creating bookings; other reads and writes share a general budget each, writes
+ * being stricter. Every limited response carries the {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers; rejected requests get a 429 with
+ * {@code Retry-After}. The hot path is one map lookup and one CAS on a {@link TokenBucket}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** Shortest time between two idle-bucket sweeps triggered by a full bucket map */
+    private static final long INLINE_EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitRoutes rateLimitRoutes;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.read.capacity:120}")
+    private int readCapacity;
+
+    @Value("${rate-limit.read.refill-per-minute:120}")
+    private int readRefillPerMinute;
+
+    @Value("${rate-limit.write.capacity:20}")
+    private int writeCapacity;
+
+    @Value("${rate-limit.write.refill-per-minute:30}")
+    private int writeRefillPerMinute;
+
+    @Value("${rate-limit.max-buckets:200000}")
+    private int maxBuckets;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /** Buckets keyed by policy name and client */
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextInlineEviction = new AtomicLong(System.nanoTime());
+
+    private Policy readPolicy;
+    private Policy writePolicy;
+    private List<Policy> routePolicies;
+    private Counter overflowRejected;
+
+    @PostConstruct
+    void registerMetrics() {
+        readPolicy = new Policy("read", null, null, readCapacity, readRefillPerMinute);
+        writePolicy = new Policy("write", null, null, writeCapacity, writeRefillPerMinute);
+        routePolicies = rateLimitRoutes.getRoutes().stream()
+                .map(route -> new Policy(route.getName(), route.getMethod(), route.getPattern(),
+                        route.getCapacity(), route.getRefillPerMinute()))
+                .toList();
+        overflowRejected = Counter.builder("rate.limit.rejected")
+                .tag("policy", "overflow")
+                .description("Requests rejected by the rate limit")
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.buckets", this, RateLimitFilter::bucketCount)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || path.startsWith("/api/auth/")
+                || path.startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Policy policy = policyFor(request.getMethod(), request.getRequestURI());
+        TokenBucket bucket = bucketFor(policy, clientKey(request));
+        if (bucket == null) {
+            // Reject new clients rather than let them through unthrottled or grow without bound
+            overflowRejected.increment();
+            reject(request, response, 1);
+            return;
+        }
+
+        long now = System.nanoTime();
+        long remaining = bucket.tryConsume(now);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(bucket.capacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(Math.max(remaining, 0)));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+
+        if (remaining < 0) {
+            policy.rejected.increment();
+            reject(request, response, toSeconds(bucket.nanosUntilAvailable(now)));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drop buckets that have fully refilled; they carry no state
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    private Policy policyFor(String method, String path) {
+        for (Policy policy : routePolicies) {
+            if (policy.matches(method, path)) {
+                return policy;
+            }
+        }
+        return isWrite(method) ? writePolicy : readPolicy;
+    }
+
+    private TokenBucket bucketFor(Policy policy, String client) {
+        String key = policy.name + '|' + client;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            long now = System.nanoTime();
+            long next = nextInlineEviction.get();
+            if (now - next >= 0 && nextInlineEviction.compareAndSet(next, now + INLINE_EVICTION_INTERVAL_NANOS)) {
+                evictIdleBuckets();
+            }
+            if (buckets.size() >= maxBuckets) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(policy.capacity, policy.refillPerMinute,
+                Duration.ofMinutes(1)));
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method));
+    }
+
+    private static long toSeconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Rate limit exceeded, please slow down")
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * A budget with its own buckets; general policies have no method or pattern
+     */
+    private final class Policy {
+        private final String name;
+        private final String method;
+        private final String pattern;
+        private final int capacity;
+        private final int refillPerMinute;
+        private final Counter rejected;
+
+        private Policy(String name, String method, String pattern, int capacity, int refillPerMinute) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.rejected = Counter.builder("rate.limit.rejected")
+                    .tag("policy", name)
+                    .description("Requests rejected by the rate limit")
+                    .register(meterRegistry);
+        }
+
+        private boolean matches(String requestMethod, String path) {
+            return (method == null || method.isEmpty() || method.equalsIgnoreCase(requestMethod))
+                    && pattern != null && pathMatcher.match(pattern, path);
+        }
+    }
+}
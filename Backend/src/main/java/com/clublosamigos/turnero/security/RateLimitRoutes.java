@@ -0,0 +1,36 @@
+package com.clublosamigos.turnero.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route-specific rate limit policies bound from {@code rate-limit.routes}. A request is charged to
+ * the first route whose method and Ant-style path pattern match it, with a bucket per client and
+ * route; requests matching no route use the general read or write budget.
+ */
+@Component
+@ConfigurationProperties("rate-limit")
+@Getter
+@Setter
+public class RateLimitRoutes {
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        /** Policy name, used as the metrics tag */
+        private String name;
+        /** HTTP method, or empty for any */
+        private String method;
+        /** Ant-style path pattern, e.g. {@code /api/bookings/**} */
+        private String pattern;
+        private int capacity;
+        private int refillPerMinute;
+    }
+}
@@ -0,0 +1,134 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.dto.message.TokenRevocationMessage;
+import com.clublosamigos.turnero.event.TokenFamilyRevokedEvent;
+import com.clublosamigos.turnero.repository.RefreshTokenRepository;
+import com.clublosamigos.turnero.service.MessageProducerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked refresh-token families, checked on every authenticated request and
+ * every refresh without touching the database. A Bloom filter answers the common "not revoked"
+ * case; its rare positives are confirmed against the exact map. Rebuilt from MySQL at startup and
+ * kept in sync across nodes through the token revocation fanout exchange.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedTokenRegistry {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MessageProducerService messageProducerService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private int bloomCapacity;
+
+    @PostConstruct
+    void init() {
+        bloomCapacity = expectedRevocations;
+        bloomFilter = new BloomFilter(bloomCapacity, falsePositiveRate);
+        Gauge.builder("jwt.revoked.families", revokedFamilies, Map::size)
+                .description("Revoked refresh-token families held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load every revoked, not yet expired family from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = refreshTokenRepository.findRevokedFamilies(LocalDateTime.now());
+        for (Object[] row : rows) {
+            revoke((String) row[0], toEpochMillis((LocalDateTime) row[1]));
+        }
+        log.info("Revoked token registry loaded: {} families", revokedFamilies.size());
+    }
+
+    /**
+     * Check whether a token family has been revoked
+     *
+     * @param familyId Family id carried in the token, may be null
+     * @return true if tokens of the family must be rejected
+     */
+    public boolean isRevoked(String familyId) {
+        if (familyId == null || !bloomFilter.mightContain(familyId)) {
+            return false;
+        }
+        Long expiresAt = revokedFamilies.get(familyId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Record a revoked family on this node
+     *
+     * @param familyId Revoked family
+     * @param expiresAtEpochMillis Time after which no token of the family is valid anyway
+     */
+    public synchronized void revoke(String familyId, long expiresAtEpochMillis) {
+        revokedFamilies.merge(familyId, expiresAtEpochMillis, Math::max);
+        if (revokedFamilies.size() > bloomCapacity) {
+            bloomCapacity *= 2;
+            rebuild();
+        } else {
+            bloomFilter.put(familyId);
+        }
+    }
+
+    /**
+     * Forget families whose tokens have all expired and shrink the Bloom filter accordingly
+     */
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revokedFamilies.size();
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+        bloomCapacity = Math.max(expectedRevocations, revokedFamilies.size() * 2);
+        rebuild();
+        log.info("Purged {} expired revoked token families", before - revokedFamilies.size());
+    }
+
+    /**
+     * Apply a revocation locally and broadcast it to the other nodes once it is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenFamilyRevoked(TokenFamilyRevokedEvent event) {
+        long expiresAt = toEpochMillis(event.getExpiresAt());
+        revoke(event.getFamilyId(), expiresAt);
+        messageProducerService.publishTokenRevocation(TokenRevocationMessage.builder()
+                .familyId(event.getFamilyId())
+                .expiresAtEpochMillis(expiresAt)
+                .build());
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(bloomCapacity, falsePositiveRate);
+        revokedFamilies.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
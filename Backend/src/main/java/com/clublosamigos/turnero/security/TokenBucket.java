@@ -0,0 +1,85 @@
+package com.clublosamigos.turnero.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The whole state is a single "theoretical arrival time" (the GCRA
+ * formulation of a token bucket), so consuming a token is one CAS on an {@link AtomicLong} and the
+ * bucket refills continuously without a background task.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity Maximum tokens, i.e. the allowed burst
+     * @param refillTokens Tokens added per refill period
+     * @param refillPeriod Period over which refillTokens are added
+     */
+    public TokenBucket(long capacity, long refillTokens, Duration refillPeriod) {
+        if (capacity < 1 || refillTokens < 1) {
+            throw new IllegalArgumentException("Token bucket capacity and refill must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / refillTokens);
+        this.burstNanos = capacity * nanosPerToken;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Try to take one token
+     *
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return Tokens left after taking one, or -1 if the bucket is empty
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return (burstNanos - debt) / nanosPerToken;
+            }
+        }
+    }
+
+    /**
+     * @return Tokens currently available
+     */
+    public long available(long nowNanos) {
+        long debt = Math.max(0, theoreticalArrival.get() - nowNanos);
+        return Math.max(0, (burstNanos - debt) / nanosPerToken);
+    }
+
+    /**
+     * @return Nanoseconds until at least one token is available, 0 if one is available now
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() + nanosPerToken - burstNanos - nowNanos);
+    }
+
+    /**
+     * @return Nanoseconds until the bucket is completely refilled
+     */
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() - nowNanos);
+    }
+
+    /**
+     * @return true when the bucket is full, so dropping it loses no state
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,104 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of each user's current role and deletion state, with the time of the last change.
+ * Lets the JWT filter trust the roles carried in a token without a per-request user lookup while
+ * still rejecting tokens of users that were deleted or whose role changed after the token was issued,
+ * even if the role was later changed back. Entries are read through from the database on first use
+ * and replaced by {@link #recordRoleChange} / {@link #recordDeletion}. When the map reaches its size
+ * limit, entries whose last change is older than any live access token are dropped; they are read
+ * through again on next use.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.user-state.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<String, UserState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Check that a token was issued after the user's last role change or deletion and that its
+     * roles still match the user's current state
+     *
+     * @param email Token subject
+     * @param tokenRoles Authorities carried in the token
+     * @param issuedAt Issue time of the token in epoch millis
+     * @return false if the user is gone, the role no longer matches or changed after the token was issued
+     */
+    public boolean isCurrent(String email, List<String> tokenRoles, long issuedAt) {
+        UserState state = states.get(email);
+        if (state == null) {
+            if (states.size() >= maxEntries) {
+                purgeSettled();
+            }
+            state = states.computeIfAbsent(email, this::load);
+        }
+        // iat has second precision, so a token issued in the same second as the change is accepted
+        return !state.deleted()
+                && issuedAt / 1000 >= state.changedAt() / 1000
+                && tokenRoles.size() == 1 && tokenRoles.get(0).equals(state.authority());
+    }
+
+    /**
+     * Record a role change so outstanding tokens issued before it stop being accepted
+     *
+     * @param email User email
+     * @param role Role after the change
+     * @param changedAt When the change was committed, in epoch millis, or 0 if unknown
+     */
+    public void recordRoleChange(String email, User.UserRole role, long changedAt) {
+        record(email, new UserState("ROLE_" + role.name(), false, changeTime(changedAt)));
+    }
+
+    /**
+     * Record a deletion so outstanding tokens of the user stop being accepted
+     *
+     * @param email User email
+     * @param changedAt When the deletion was committed, in epoch millis, or 0 if unknown
+     */
+    public void recordDeletion(String email, long changedAt) {
+        record(email, new UserState(null, true, changeTime(changedAt)));
+    }
+
+    private void record(String email, UserState update) {
+        // Broadcasts may arrive out of order; the latest change wins
+        states.merge(email, update, (current, next) -> next.changedAt() >= current.changedAt() ? next : current);
+    }
+
+    /**
+     * Drop entries whose last change predates every access token still valid; such entries hold
+     * nothing the database does not
+     */
+    private void purgeSettled() {
+        long settledBefore = System.currentTimeMillis() - jwtUtil.getAccessTokenTtl();
+        states.values().removeIf(state -> state.changedAt() < settledBefore);
+    }
+
+    private UserState load(String email) {
+        return userRepository.findByEmailAndIsDeletedFalse(email)
+                .map(user -> new UserState("ROLE_" + user.getRole().name(), false, 0))
+                .orElseGet(() -> new UserState(null, true, 0));
+    }
+
+    private static long changeTime(long changedAt) {
+        return changedAt > 0 ? changedAt : System.currentTimeMillis();
+    }
+
+    private record UserState(String authority, boolean deleted, long changedAt) {
+    }
+}
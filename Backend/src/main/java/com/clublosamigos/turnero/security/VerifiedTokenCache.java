@@ -0,0 +1,191 @@
+package com.clublosamigos.turnero.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Bounded cache of already verified access tokens, keyed by the SHA-256 of the token so raw bearer
+ * tokens are never held in memory. A hit skips the HMAC check and JSON decoding of the claims.
+ * Entries live until the token's own {@code exp}; when the cache is full the entry closest to
+ * expiry is evicted first. Entries of a user are dropped when the user is deleted or changes role.
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private static final Comparator<VerifiedToken> BY_EXPIRY = Comparator
+            .comparingLong(VerifiedToken::getExpiresAt)
+            .thenComparing(VerifiedToken::getKey);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final NavigableSet<VerifiedToken> byExpiry = new ConcurrentSkipListSet<>(BY_EXPIRY);
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("jwt.verified.cache.requests")
+                .tag("result", "hit")
+                .description("Access tokens served from the verified-token cache")
+                .register(meterRegistry);
+        misses = Counter.builder("jwt.verified.cache.requests")
+                .tag("result", "miss")
+                .description("Access tokens that had to be parsed and verified")
+                .register(meterRegistry);
+        evictions = Counter.builder("jwt.verified.cache.evictions")
+                .description("Verified tokens evicted before their expiry to respect the size limit")
+                .register(meterRegistry);
+        Gauge.builder("jwt.verified.cache.size", tokens, Map::size)
+                .description("Verified access tokens currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a previously verified, still unexpired token
+     *
+     * @param token Raw bearer token
+     * @return The cached verification, or null on a miss
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken cached = tokens.get(digest(token));
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.getExpiresAt() <= System.currentTimeMillis()) {
+            remove(cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Cache the result of a successful verification
+     *
+     * @param token Raw bearer token
+     * @param claims Claims returned by the verifying parse
+     * @param roles Granted roles carried in the claims
+     * @param familyId Refresh-token family the token was issued from, may be null
+     * @return The cached verification
+     */
+    public VerifiedToken put(String token, Claims claims, List<String> roles, String familyId) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        VerifiedToken verified = new VerifiedToken(
+                digest(token),
+                claims.getSubject(),
+                roles,
+                familyId,
+                new User(claims.getSubject(), "", authorities),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0,
+                claims.getExpiration().getTime());
+
+        while (tokens.size() >= maxSize) {
+            VerifiedToken soonest = byExpiry.pollFirst();
+            if (soonest == null) {
+                break;
+            }
+            if (tokens.remove(soonest.getKey(), soonest) && soonest.getExpiresAt() > System.currentTimeMillis()) {
+                evictions.increment();
+            }
+        }
+
+        VerifiedToken previous = tokens.put(verified.getKey(), verified);
+        if (previous != null) {
+            byExpiry.remove(previous);
+        }
+        byExpiry.add(verified);
+        return verified;
+    }
+
+    /**
+     * Drop every cached token of a user
+     *
+     * @param email Token subject
+     */
+    public void invalidateSubject(String email) {
+        tokens.values().removeIf(verified -> {
+            if (verified.getSubject().equals(email)) {
+                byExpiry.remove(verified);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Periodically release tokens that expired without being requested again
+     */
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (VerifiedToken verified : byExpiry) {
+            if (verified.getExpiresAt() > now) {
+                break;
+            }
+            remove(verified);
+        }
+    }
+
+    private void remove(VerifiedToken verified) {
+        tokens.remove(verified.getKey(), verified);
+        byExpiry.remove(verified);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Outcome of a successful token verification
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class VerifiedToken {
+        private final String key;
+        private final String subject;
+        private final List<String> roles;
+        private final String familyId;
+        private final User principal;
+        /** Issue time in epoch millis, 0 when the token carries none */
+        private final long issuedAt;
+        private final long expiresAt;
+    }
+}
@@ -4,34 +4,57 @@ import com.clublosamigos.turnero.dto.request.LoginRequest;
 import com.clublosamigos.turnero.dto.request.RegisterRequest;
 import com.clublosamigos.turnero.dto.response.AuthResponse;
 import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import com.clublosamigos.turnero.event.TokenFamilyRevokedEvent;
 import com.clublosamigos.turnero.exception.UnauthorizedException;
+import com.clublosamigos.turnero.model.RefreshToken;
+import com.clublosamigos.turnero.model.RefreshToken.RevocationReason;
 import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.repository.RefreshTokenRepository;
 import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.security.BoundedPasswordEncoder;
 import com.clublosamigos.turnero.security.CustomUserDetailsService;
 import com.clublosamigos.turnero.security.JwtUtil;
+import com.clublosamigos.turnero.security.LoginThrottle;
+import com.clublosamigos.turnero.security.RevokedTokenRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
 /**
  * Service for authentication operations (login, register)
+ * Refresh tokens are single use: each refresh rotates the token within its family, and presenting an
+ * already rotated token revokes the whole family.
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService customUserDetailsService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final LoginThrottle loginThrottle;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Pattern PASSWORD_PATTERN =
             Pattern.compile("^(?=.*[A-Z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?]).{8,}$");
@@ -70,21 +93,23 @@ public class AuthService {
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername(user.getEmail());
 
-        String accessToken = jwtUtil.generateAccessToken(userDetails);
-        String refreshToken = jwtUtil.generateRefreshToken(userDetails);
-
-        return buildAuthResponse(user, accessToken, refreshToken);
+        return issueTokens(user, userDetails, UUID.randomUUID().toString());
     }
 
     /**
      * Authenticate user and generate JWT token
      *
      * @param request LoginRequest containing email and password
+     * @param clientIp Address of the client, used for throttling
      * @return AuthResponse with JWT token and user information
      * @throws UnauthorizedException if credentials are invalid
+     * @throws TooManyRequestsException if the client exceeded its login attempts, the account failed
+     *                                  too often, or the password hashing pool is saturated
      */
-    @Transactional(readOnly = true)
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        loginThrottle.acquire(clientIp, request.getEmail());
+        passwordEncoder.ensureCapacity();
+
         try {
             // Authenticate user
             Authentication authentication = authenticationManager.authenticate(
@@ -95,47 +120,130 @@ public class AuthService {
             User user = userRepository.findByEmailAndIsDeletedFalse(request.getEmail())
                     .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
 
-            // Generate JWT token
+            // Generate JWT tokens in a new refresh-token family
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String accessToken = jwtUtil.generateAccessToken(userDetails);
-            String refreshToken = jwtUtil.generateRefreshToken(userDetails);
-
-            return buildAuthResponse(user, accessToken, refreshToken);
+            return issueTokens(user, userDetails, UUID.randomUUID().toString());
         } catch (Exception e) {
+            rethrowIfBusy(e);
+            loginThrottle.recordFailure(clientIp, request.getEmail());
             throw new UnauthorizedException("Invalid credentials");
         }
     }
 
     /**
      * Refresh access token using a valid refresh token.
+     * The presented token is rotated; presenting it again afterwards is treated as token theft and
+     * revokes every token of its family.
+     *
+     * @param refreshToken Refresh token issued by login, register or a previous refresh
+     * @return AuthResponse with a new access token and a new refresh token
+     * @throws UnauthorizedException if the token is invalid, revoked or already used
      */
-    @Transactional(readOnly = true)
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public AuthResponse refreshToken(String refreshToken) {
         if (refreshToken == null || refreshToken.isBlank()) {
             throw new BadRequestException("Refresh token is required");
         }
 
-        String email = jwtUtil.extractUsername(refreshToken);
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-
-        if (!jwtUtil.validateToken(refreshToken, userDetails)) {
+        Claims claims = parseRefreshToken(refreshToken)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        String familyId = jwtUtil.extractFamilyId(claims);
+        if (claims.getId() == null || familyId == null || revokedTokenRegistry.isRevoked(familyId)) {
             throw new UnauthorizedException("Invalid refresh token");
         }
 
+        String email = claims.getSubject();
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+
         User user = userRepository.findByEmailAndIsDeletedFalse(email)
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
 
-        String newAccessToken = jwtUtil.generateAccessToken(userDetails);
-        String newRefreshToken = jwtUtil.generateRefreshToken(userDetails);
+        String newJti = UUID.randomUUID().toString();
+        if (refreshTokenRepository.rotate(claims.getId(), newJti, LocalDateTime.now()) == 0) {
+            log.warn("Refresh token reuse detected for user {}, revoking token family {}", email, familyId);
+            revokeFamily(familyId, RevocationReason.REUSE_DETECTED);
+            throw new UnauthorizedException("Invalid refresh token");
+        }
 
-        return buildAuthResponse(user, newAccessToken, newRefreshToken);
+        return issueTokens(user, userDetails, familyId, newJti);
     }
 
     /**
-     * Logout operation (stateless) - instructs client to discard tokens.
+     * Logout: revoke the refresh-token family of the given token, which also invalidates the
+     * access tokens issued from it. Invalid or missing tokens are ignored.
+     *
+     * @param refreshToken Refresh token held by the client, may be null
      */
-    public void logout() {
-        // Stateless JWT: nothing to persist. Clients must drop tokens.
+    @Transactional
+    public void logout(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        parseRefreshToken(refreshToken)
+                .map(jwtUtil::extractFamilyId)
+                .ifPresent(familyId -> revokeFamily(familyId, RevocationReason.LOGOUT));
+    }
+
+    /**
+     * Delete refresh tokens that expired more than a day ago and forget their revocations
+     */
+    @Scheduled(cron = "${jwt.revocation.cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now().minusDays(1));
+        revokedTokenRegistry.purgeExpired();
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    /**
+     * The hashing pool may reject inside the authentication provider (also for unknown emails, whose
+     * password is still hashed to hide their absence), where Spring Security wraps the exception
+     */
+    private static void rethrowIfBusy(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+        }
+    }
+
+    private Optional<Claims> parseRefreshToken(String refreshToken) {
+        try {
+            Claims claims = jwtUtil.parseClaims(refreshToken);
+            return jwtUtil.isRefreshToken(claims) ? Optional.of(claims) : Optional.empty();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private void revokeFamily(String familyId, RevocationReason reason) {
+        if (refreshTokenRepository.revokeFamily(familyId, reason, LocalDateTime.now()) == 0) {
+            return;
+        }
+        refreshTokenRepository.findFamilyExpiry(familyId)
+                .ifPresent(expiresAt -> eventPublisher.publishEvent(TokenFamilyRevokedEvent.builder()
+                        .familyId(familyId)
+                        .expiresAt(expiresAt)
+                        .reason(reason)
+                        .build()));
+    }
+
+    private AuthResponse issueTokens(User user, UserDetails userDetails, String familyId) {
+        return issueTokens(user, userDetails, familyId, UUID.randomUUID().toString());
+    }
+
+    private AuthResponse issueTokens(User user, UserDetails userDetails, String familyId, String jti) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(jti)
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtUtil.getRefreshTokenTtl())))
+                .build());
+
+        String accessToken = jwtUtil.generateAccessToken(userDetails, familyId);
+        String newRefreshToken = jwtUtil.generateRefreshToken(userDetails, jti, familyId);
+
+        return buildAuthResponse(user, accessToken, newRefreshToken);
     }
 
     private AuthResponse buildAuthResponse(User user, String accessToken, String refreshToken) {
@@ -0,0 +1,59 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.response.BatchItemResponse;
+import com.clublosamigos.turnero.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Validation and assembly of batch reads by id
+ */
+final class Batches {
+
+    private Batches() {
+    }
+
+    /**
+     * Check the requested ids and drop duplicates, keeping the first occurrence
+     *
+     * @param ids Requested IDs
+     * @param maxIds Maximum IDs per request
+     * @return Distinct IDs in request order
+     * @throws BadRequestException if no ids or too many ids are given
+     */
+    static List<Long> distinctIds(List<Long> ids, int maxIds) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " ids can be requested at once");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestException("Ids must not be empty");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * One entry per requested id, in request order, with a not-found marker for ids without a result
+     *
+     * @param ids Requested IDs, duplicates included
+     * @param found Resources that were found
+     * @param idOf Extracts a resource's ID
+     * @return Batch entries
+     */
+    static <T> List<BatchItemResponse<T>> assemble(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<BatchItemResponse<T>> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T resource = byId.get(id);
+            items.add(new BatchItemResponse<>(id, resource != null, resource));
+        }
+        return items;
+    }
+}
@@ -1,21 +1,47 @@
 package com.clublosamigos.turnero.service;
 
 import com.clublosamigos.turnero.dto.request.BookingRequest;
+import com.clublosamigos.turnero.dto.request.SeriesBookingRequest;
+import com.clublosamigos.turnero.dto.response.BatchItemResponse;
+import com.clublosamigos.turnero.dto.response.BookingEligibilityResponse;
+import com.clublosamigos.turnero.dto.response.BookingEligibilityResponse.Reason;
 import com.clublosamigos.turnero.dto.response.BookingResponse;
+import com.clublosamigos.turnero.dto.response.BookingSummaryResponse;
+import com.clublosamigos.turnero.dto.response.CompactListResponse;
+import com.clublosamigos.turnero.dto.response.SeriesBookingResponse;
+import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.BookingChangedEvent.ChangeType;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent.CreatedBooking;
 import com.clublosamigos.turnero.exception.BadRequestException;
 import com.clublosamigos.turnero.exception.ResourceNotFoundException;
 import com.clublosamigos.turnero.model.Booking;
 import com.clublosamigos.turnero.model.Booking.BookingStatus;
+import com.clublosamigos.turnero.model.SlotConfiguration;
 import com.clublosamigos.turnero.model.TrainingSession;
 import com.clublosamigos.turnero.model.User;
 import com.clublosamigos.turnero.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,11 +52,20 @@ import java.util.stream.Collectors;
 public class BookingService {
 
     private static final int CANCELLATION_LIMIT_HOURS = 2;
+    private static final int MAX_ELIGIBILITY_RANGE_DAYS = 31;
+    /** Rules that reject a session for every user */
+    private static final Set<Reason> SESSION_REASONS =
+            EnumSet.of(Reason.NOT_ACTIVE, Reason.ALREADY_HAPPENED, Reason.ALREADY_STARTED, Reason.FULL);
 
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final TrainingSessionService trainingSessionService;
+    private final SlotConfigurationService slotConfigurationService;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${batch.max-ids:100}")
+    private int maxBatchIds;
 
     /**
      * Create a new booking
@@ -45,7 +80,7 @@ public class BookingService {
     public BookingResponse createBooking(Long userId, BookingRequest request) {
         // Get user and training session
         User user = userService.getUserEntityById(userId);
-        TrainingSession session = trainingSessionService.getTrainingSessionEntityById(request.getTrainingSessionId());
+        TrainingSession session = trainingSessionService.getTrainingSessionEntityForBooking(request.getTrainingSessionId());
 
         validateBookingRules(user, session);
 
@@ -60,10 +95,185 @@ public class BookingService {
         booking = bookingRepository.save(booking);
 
         notificationService.sendBookingConfirmation(user, session);
+        publishChange(booking, ChangeType.CREATED, 1);
 
         return convertToResponse(booking);
     }
 
+    /**
+     * Book every session of a slot configuration in a date range, in one transaction. The booking rules
+     * are checked for all sessions at once, the eligible ones are inserted with one statement and the
+     * user gets a single confirmation listing them. One change event covers every booking created.
+     *
+     * @param userId User ID making the bookings
+     * @param request Slot configuration and date range
+     * @return One entry per session in calendar order, booked or with the rule it failed
+     * @throws ResourceNotFoundException if user or slot configuration not found
+     * @throws BadRequestException if the range is invalid or covers more than batch.max-ids sessions
+     */
+    @Transactional
+    public SeriesBookingResponse bookSeries(Long userId, SeriesBookingRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("End date must be on or after start date");
+        }
+        User user = userService.getUserEntityById(userId);
+        SlotConfiguration slotConfiguration = slotConfigurationService.getSlotConfigurationById(request.getSlotConfigurationId());
+        List<TrainingSession> sessions = trainingSessionService.getTrainingSessionEntitiesOfSlotConfiguration(
+                slotConfiguration.getId(), request.getStartDate(), request.getEndDate());
+        if (sessions.size() > maxBatchIds) {
+            throw new BadRequestException("A series can book at most " + maxBatchIds + " sessions at once");
+        }
+
+        Map<Long, BookingEligibilityResponse> eligibility = evaluateEligibility(userId, sessions);
+        Map<Long, Reason> rejections = new HashMap<>();
+        List<TrainingSession> accepted = new ArrayList<>();
+        for (TrainingSession session : sessions) {
+            BookingEligibilityResponse result = eligibility.get(session.getId());
+            if (!result.isEligible()) {
+                rejections.put(session.getId(), result.getReason());
+            } else if (accepted.stream().anyMatch(other -> overlaps(session, other))) {
+                // Two sessions of the series in the same slot: the earlier one wins
+                rejections.put(session.getId(), Reason.OVERLAPPING_BOOKING);
+            } else {
+                accepted.add(session);
+            }
+        }
+
+        Map<Long, Booking> bookings = new HashMap<>();
+        if (!accepted.isEmpty()) {
+            List<Long> acceptedIds = accepted.stream().map(TrainingSession::getId).collect(Collectors.toList());
+            bookingRepository.insertConfirmedBookings(userId, acceptedIds);
+            bookingRepository.findByUserIdAndTrainingSessionIdInAndIsDeletedFalse(userId, acceptedIds)
+                    .forEach(booking -> bookings.put(booking.getTrainingSession().getId(), booking));
+        }
+
+        List<SeriesBookingResponse.Occurrence> occurrences = new ArrayList<>();
+        List<TrainingSession> booked = new ArrayList<>();
+        List<Booking> created = new ArrayList<>();
+        for (TrainingSession session : sessions) {
+            Booking booking = bookings.get(session.getId());
+            if (booking != null) {
+                booked.add(session);
+                created.add(booking);
+            }
+            occurrences.add(SeriesBookingResponse.Occurrence.builder()
+                    .sessionId(session.getId())
+                    .date(session.getDate())
+                    .startTime(session.getStartTime())
+                    .booked(booking != null)
+                    .bookingId(booking != null ? booking.getId() : null)
+                    // A row left by a deleted booking of the same session blocks the insert
+                    .reason(booking != null ? null : rejections.getOrDefault(session.getId(), Reason.ALREADY_BOOKED))
+                    .build());
+        }
+
+        if (!booked.isEmpty()) {
+            notificationService.sendSeriesBookingConfirmation(user, slotConfiguration, booked);
+            publishCreated(created);
+        }
+
+        return SeriesBookingResponse.builder()
+                .slotConfigurationId(slotConfiguration.getId())
+                .booked(booked.size())
+                .skipped(sessions.size() - booked.size())
+                .occurrences(occurrences)
+                .build();
+    }
+
+    /**
+     * Book the subscribers of a slot configuration into sessions generated from it. The booking rules
+     * are checked for every subscriber and session from two bulk queries, and each session gets one
+     * insert statement for all the subscribers it accepts.
+     * <p>
+     * Seats are shared out fairly: sessions are filled in calendar order, and for each one the
+     * subscribers with the fewest bookings granted so far in this run go first, in the given order
+     * otherwise. When subscribers outnumber the seats they take turns across the sessions. One change
+     * event is published per session for all the subscribers booked into it.
+     *
+     * @param slotConfiguration Slot configuration the sessions were generated from
+     * @param sessions Generated sessions
+     * @param subscribers Subscribed users, in priority order
+     * @return Sessions booked for each user ID, in calendar order; users with no booking are absent
+     */
+    @Transactional
+    public Map<Long, List<TrainingSession>> bookSubscribers(SlotConfiguration slotConfiguration,
+                                                           List<TrainingSession> sessions, List<User> subscribers) {
+        Map<Long, List<TrainingSession>> booked = new HashMap<>();
+        if (sessions.isEmpty() || subscribers.isEmpty()) {
+            return booked;
+        }
+
+        List<TrainingSession> ordered = sessions.stream()
+                .sorted(Comparator.comparing(TrainingSession::getDate).thenComparing(TrainingSession::getStartTime))
+                .collect(Collectors.toList());
+        List<Long> sessionIds = ordered.stream().map(TrainingSession::getId).collect(Collectors.toList());
+        Set<LocalDate> dates = ordered.stream().map(TrainingSession::getDate).collect(Collectors.toSet());
+        List<Long> userIds = subscribers.stream().map(User::getId).collect(Collectors.toList());
+
+        Map<Long, Long> confirmedCounts = bookingRepository.countConfirmedBookingsBySessionIds(sessionIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        Map<Long, List<Object[]>> userBookings = bookingRepository.findBookingRowsOfUsersOnDates(userIds, dates).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[5]));
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> granted = new HashMap<>();
+        Map<Long, List<Long>> acceptedUsers = new HashMap<>();
+        for (TrainingSession session : ordered) {
+            long confirmed = confirmedCounts.getOrDefault(session.getId(), 0L);
+            List<Long> accepted = new ArrayList<>();
+            // Stable sort: ties keep the caller's priority order
+            List<Long> candidates = userIds.stream()
+                    .sorted(Comparator.comparing(userId -> granted.getOrDefault(userId, 0)))
+                    .collect(Collectors.toList());
+            for (Long userId : candidates) {
+                List<Object[]> rows = userBookings.computeIfAbsent(userId, key -> new ArrayList<>());
+                BookingEligibilityResponse eligibility = evaluate(session, rows, confirmed, today, now);
+                if (SESSION_REASONS.contains(eligibility.getReason())) {
+                    break;
+                }
+                if (eligibility.isEligible()) {
+                    accepted.add(userId);
+                    confirmed++;
+                    granted.merge(userId, 1, Integer::sum);
+                    rows.add(new Object[]{session.getId(), BookingStatus.CONFIRMED, session.getDate(),
+                            session.getStartTime(), session.getEndTime(), userId});
+                }
+            }
+            if (!accepted.isEmpty()) {
+                acceptedUsers.put(session.getId(), accepted);
+                bookingRepository.insertConfirmedBookingsForUsers(session.getId(), accepted);
+            }
+        }
+        if (acceptedUsers.isEmpty()) {
+            return booked;
+        }
+
+        Map<Long, TrainingSession> sessionsById = ordered.stream()
+                .collect(Collectors.toMap(TrainingSession::getId, Function.identity()));
+        List<Booking> bookings = bookingRepository.findByTrainingSessionIdInAndIsDeletedFalse(acceptedUsers.keySet());
+        bookings.sort(Comparator.comparing((Booking booking) -> booking.getTrainingSession().getDate())
+                .thenComparing(booking -> booking.getTrainingSession().getStartTime()));
+        Map<Long, List<Booking>> createdBySession = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            Long sessionId = booking.getTrainingSession().getId();
+            Long userId = booking.getUser().getId();
+            if (acceptedUsers.get(sessionId).contains(userId)) {
+                booked.computeIfAbsent(userId, key -> new ArrayList<>()).add(sessionsById.get(sessionId));
+                createdBySession.computeIfAbsent(sessionId, key -> new ArrayList<>()).add(booking);
+            }
+        }
+        createdBySession.values().forEach(this::publishCreated);
+
+        for (User subscriber : subscribers) {
+            List<TrainingSession> userSessions = booked.get(subscriber.getId());
+            if (userSessions != null) {
+                notificationService.sendSeriesBookingConfirmation(subscriber, slotConfiguration, userSessions);
+            }
+        }
+        return booked;
+    }
+
     /**
      * Get all bookings
      *
@@ -103,6 +313,78 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the compact list view of a user's bookings, with their sessions and trainers side-loaded once
+     *
+     * @param userId User ID
+     * @param upcomingOnly Only return confirmed bookings of sessions from today on
+     * @param fields Comma-separated sparse fieldset, or null for every field
+     * @return CompactListResponse of BookingSummaryResponse
+     * @throws BadRequestException if a requested field is unknown
+     */
+    @Transactional(readOnly = true)
+    public CompactListResponse<BookingSummaryResponse> getBookingSummariesByUser(Long userId, boolean upcomingOnly,
+                                                                                String fields) {
+        Set<String> fieldset = Fieldsets.parse(fields, BookingSummaryResponse.FIELDS);
+        List<BookingSummaryResponse> bookings = bookingRepository.findSummariesByUser(userId, upcomingOnly);
+        CompactListResponse<BookingSummaryResponse> response = CompactListResponse.<BookingSummaryResponse>builder()
+                .data(bookings)
+                .build();
+        if (fieldset == null || fieldset.contains("sessionId")) {
+            trainingSessionService.includeSessions(bookings.stream()
+                    .map(BookingSummaryResponse::getSessionId)
+                    .collect(Collectors.toSet()), response.getIncluded());
+        }
+        bookings.forEach(booking -> booking.retainFields(fieldset));
+        return response;
+    }
+
+    /**
+     * Get non-deleted bookings by ID: one query for the bookings, then one for their sessions and
+     * one grouped participant count
+     *
+     * @param ids Booking IDs
+     * @return List of BookingResponse; deleted or unknown IDs are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getBookingsByIds(List<Long> ids) {
+        List<Booking> bookings = bookingRepository.findAllById(ids).stream()
+                .filter(booking -> !Boolean.TRUE.equals(booking.getIsDeleted()))
+                .collect(Collectors.toList());
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> sessionIds = bookings.stream()
+                .map(booking -> booking.getTrainingSession().getId())
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, TrainingSessionResponse> sessions = trainingSessionService.getTrainingSessionsByIds(sessionIds).stream()
+                .collect(Collectors.toMap(TrainingSessionResponse::getId, Function.identity()));
+
+        return bookings.stream()
+                .map(booking -> buildResponse(booking, sessions.get(booking.getTrainingSession().getId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get many bookings in one call
+     *
+     * @param ids Booking IDs, at most batch.max-ids
+     * @param ownerId Only return bookings of this user, or null for any user
+     * @return One entry per requested ID in request order, marked not found for deleted, unknown
+     * or other users' bookings
+     * @throws BadRequestException if no ids or too many ids are given
+     */
+    @Transactional(readOnly = true)
+    public List<BatchItemResponse<BookingResponse>> getBookingBatch(List<Long> ids, Long ownerId) {
+        List<Long> distinctIds = Batches.distinctIds(ids, maxBatchIds);
+        List<BookingResponse> bookings = getBookingsByIds(distinctIds).stream()
+                .filter(booking -> ownerId == null || ownerId.equals(booking.getUser().getId()))
+                .collect(Collectors.toList());
+        return Batches.assemble(ids, bookings, BookingResponse::getId);
+    }
+
     /**
      * Get bookings by training session ID
      *
@@ -129,6 +411,45 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Check which sessions a user can book, with the same rules that validate a booking. Runs a
+     * fixed number of queries however many sessions are checked.
+     *
+     * @param userId User ID
+     * @param sessionIds Training session IDs, at most batch.max-ids; or null to use the date range
+     * @param startDate Start of the date range
+     * @param endDate End of the date range, at most 31 days after the start
+     * @return One entry per session: requested IDs in request order, or the range in calendar order
+     * @throws BadRequestException if neither ids nor a valid date range are given
+     */
+    @Transactional(readOnly = true)
+    public List<BookingEligibilityResponse> getBookingEligibility(Long userId, List<Long> sessionIds,
+                                                                  LocalDate startDate, LocalDate endDate) {
+        List<Long> ids;
+        List<TrainingSession> sessions;
+        if (sessionIds != null && !sessionIds.isEmpty()) {
+            ids = Batches.distinctIds(sessionIds, maxBatchIds);
+            sessions = trainingSessionService.getTrainingSessionEntitiesByIds(ids);
+        } else {
+            if (startDate == null || endDate == null) {
+                throw new BadRequestException("Either sessionIds or startDate and endDate are required");
+            }
+            if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) > MAX_ELIGIBILITY_RANGE_DAYS) {
+                throw new BadRequestException("The date range must be at most " + MAX_ELIGIBILITY_RANGE_DAYS + " days");
+            }
+            sessions = trainingSessionService.getTrainingSessionEntitiesBetween(startDate, endDate);
+            ids = sessions.stream().map(TrainingSession::getId).collect(Collectors.toList());
+        }
+
+        Map<Long, BookingEligibilityResponse> eligibility = evaluateEligibility(userId, sessions);
+        return ids.stream()
+                .map(id -> eligibility.getOrDefault(id, BookingEligibilityResponse.builder()
+                        .sessionId(id)
+                        .reason(Reason.NOT_FOUND)
+                        .build()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Cancel a booking
      *
@@ -150,8 +471,10 @@ public class BookingService {
 
         ensureCancellationWindow(booking.getTrainingSession());
 
+        int participantDelta = booking.getStatus() == BookingStatus.CONFIRMED ? -1 : 0;
         booking.setStatus(BookingStatus.CANCELLED);
         booking = bookingRepository.save(booking);
+        publishChange(booking, ChangeType.CANCELLED, participantDelta);
 
         // Send notification
         notificationService.sendBookingCancellation(booking.getUser(), booking.getTrainingSession());
@@ -171,6 +494,7 @@ public class BookingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
         booking.setIsDeleted(true);
         bookingRepository.save(booking);
+        publishChange(booking, ChangeType.DELETED, booking.getStatus() == BookingStatus.CONFIRMED ? -1 : 0);
     }
 
     /**
@@ -180,47 +504,150 @@ public class BookingService {
      * @return BookingResponse DTO
      */
     private BookingResponse convertToResponse(Booking booking) {
+        return buildResponse(booking, trainingSessionService.getTrainingSessionById(booking.getTrainingSession().getId()));
+    }
+
+    private BookingResponse buildResponse(Booking booking, TrainingSessionResponse trainingSession) {
         return BookingResponse.builder()
                 .id(booking.getId())
                 .user(userService.getUserById(booking.getUser().getId()))
-                .trainingSession(trainingSessionService.getTrainingSessionById(booking.getTrainingSession().getId()))
+                .trainingSession(trainingSession)
                 .status(booking.getStatus())
                 .createdAt(booking.getCreatedAt())
                 .updatedAt(booking.getUpdatedAt())
                 .build();
     }
 
+    private void publishChange(Booking booking, ChangeType changeType, int participantDelta) {
+        eventPublisher.publishEvent(BookingChangedEvent.builder()
+                .bookingId(booking.getId())
+                .userId(booking.getUser().getId())
+                .sessionId(booking.getTrainingSession().getId())
+                .sessionDate(booking.getTrainingSession().getDate())
+                .changeType(changeType)
+                .participantDelta(participantDelta)
+                .build());
+    }
+
+    /**
+     * Publish one event for bookings created in bulk
+     */
+    private void publishCreated(List<Booking> bookings) {
+        eventPublisher.publishEvent(BookingsCreatedEvent.builder()
+                .bookings(bookings.stream()
+                        .map(booking -> new CreatedBooking(
+                                booking.getId(),
+                                booking.getUser().getId(),
+                                booking.getTrainingSession().getId(),
+                                booking.getTrainingSession().getDate()))
+                        .collect(Collectors.toList()))
+                .build());
+    }
+
     /**
      * Apply booking business rules before persisting a booking.
      */
     private void validateBookingRules(User user, TrainingSession session) {
-        if (session.getStatus() != TrainingSession.SessionStatus.ACTIVE || Boolean.TRUE.equals(session.getIsDeleted())) {
-            throw new BadRequestException("Cannot book a session that is not active");
+        BookingEligibilityResponse eligibility = evaluateEligibility(user.getId(), List.of(session)).get(session.getId());
+        if (!eligibility.isEligible()) {
+            throw new BadRequestException(rejectionMessage(eligibility.getReason()));
         }
+    }
 
-        LocalDate today = LocalDate.now();
-        if (session.getDate().isBefore(today)) {
-            throw new BadRequestException("Cannot book a training session that already happened");
+    /**
+     * Evaluate the booking rules for many sessions with three queries: the user's bookings on the
+     * sessions' dates and the confirmed count of every session, plus the sessions already loaded.
+     * Single bookings go through here too, so the bulk check and the booking never disagree.
+     */
+    private Map<Long, BookingEligibilityResponse> evaluateEligibility(Long userId, Collection<TrainingSession> sessions) {
+        Map<Long, BookingEligibilityResponse> results = new HashMap<>();
+        if (sessions.isEmpty()) {
+            return results;
         }
 
-        LocalDateTime sessionStart = session.getDate().atTime(session.getStartTime());
-        if (sessionStart.isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("Cannot book a training session that already started");
-        }
+        List<Long> sessionIds = sessions.stream().map(TrainingSession::getId).collect(Collectors.toList());
+        Set<LocalDate> dates = sessions.stream().map(TrainingSession::getDate).collect(Collectors.toSet());
+        Map<Long, Long> confirmedCounts = bookingRepository.countConfirmedBookingsBySessionIds(sessionIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        List<Object[]> userBookings = bookingRepository.findUserBookingRowsOnDates(userId, dates);
 
-        if (bookingRepository.existsByUserIdAndTrainingSessionIdAndIsDeletedFalse(user.getId(), session.getId())) {
-            throw new BadRequestException("You have already booked this training session");
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        for (TrainingSession session : sessions) {
+            results.put(session.getId(), evaluate(session, userBookings,
+                    confirmedCounts.getOrDefault(session.getId(), 0L), today, now));
         }
+        return results;
+    }
 
-        if (bookingRepository.hasOverlappingBooking(user.getId(), session.getDate(), session.getStartTime(), session.getEndTime())) {
-            throw new BadRequestException("You already have another booking for this time slot");
+    /**
+     * Apply the booking rules to one session
+     *
+     * @param userBookings The user's bookings on the session's date as (session id, status, date,
+     * start time, end time, ...)
+     * @param confirmed Confirmed bookings of the session
+     */
+    private static BookingEligibilityResponse evaluate(TrainingSession session, List<Object[]> userBookings,
+                                                       long confirmed, LocalDate today, LocalDateTime now) {
+        boolean alreadyBooked = false;
+        boolean overlapping = false;
+        for (Object[] booking : userBookings) {
+            if (session.getId().equals(booking[0])) {
+                alreadyBooked = true;
+            }
+            // Same slot test as a time overlap query: start before the other's end and end after its start
+            if (booking[1] == BookingStatus.CONFIRMED
+                    && session.getDate().equals(booking[2])
+                    && ((LocalTime) booking[3]).isBefore(session.getEndTime())
+                    && ((LocalTime) booking[4]).isAfter(session.getStartTime())) {
+                overlapping = true;
+            }
         }
-
-        Long currentBookings = bookingRepository.countConfirmedBookings(session.getId());
         int maxParticipants = session.getMaxParticipants() != null ? session.getMaxParticipants() : 8;
-        if (currentBookings >= maxParticipants) {
-            throw new BadRequestException("Training session is full");
+        boolean full = confirmed >= maxParticipants;
+
+        Reason reason = null;
+        if (session.getStatus() != TrainingSession.SessionStatus.ACTIVE || Boolean.TRUE.equals(session.getIsDeleted())) {
+            reason = Reason.NOT_ACTIVE;
+        } else if (session.getDate().isBefore(today)) {
+            reason = Reason.ALREADY_HAPPENED;
+        } else if (session.getDate().atTime(session.getStartTime()).isBefore(now)) {
+            reason = Reason.ALREADY_STARTED;
+        } else if (alreadyBooked) {
+            reason = Reason.ALREADY_BOOKED;
+        } else if (overlapping) {
+            reason = Reason.OVERLAPPING_BOOKING;
+        } else if (full) {
+            reason = Reason.FULL;
         }
+
+        return BookingEligibilityResponse.builder()
+                .sessionId(session.getId())
+                .eligible(reason == null)
+                .reason(reason)
+                .alreadyBooked(alreadyBooked)
+                .overlapping(overlapping)
+                .full(full)
+                .seatsLeft((int) Math.max(0, maxParticipants - confirmed))
+                .build();
+    }
+
+    private static boolean overlaps(TrainingSession session, TrainingSession other) {
+        return session.getDate().equals(other.getDate())
+                && session.getStartTime().isBefore(other.getEndTime())
+                && session.getEndTime().isAfter(other.getStartTime());
+    }
+
+    private static String rejectionMessage(Reason reason) {
+        return switch (reason) {
+            case NOT_FOUND -> "Training session not found";
+            case NOT_ACTIVE -> "Cannot book a session that is not active";
+            case ALREADY_HAPPENED -> "Cannot book a training session that already happened";
+            case ALREADY_STARTED -> "Cannot book a training session that already started";
+            case ALREADY_BOOKED -> "You have already booked this training session";
+            case OVERLAPPING_BOOKING -> "You already have another booking for this time slot";
+            case FULL -> "Training session is full";
+        };
     }
 
     /**
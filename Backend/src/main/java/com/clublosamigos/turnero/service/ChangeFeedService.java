@@ -0,0 +1,340 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.response.BookingResponse;
+import com.clublosamigos.turnero.dto.response.ChangeFeedResponse;
+import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent.CreatedBooking;
+import com.clublosamigos.turnero.event.SessionBookingsCancelledEvent;
+import com.clublosamigos.turnero.event.SessionBookingsCancelledEvent.CancelledBooking;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.model.ChangeLogEntry;
+import com.clublosamigos.turnero.model.ChangeLogEntry.ChangeType;
+import com.clublosamigos.turnero.model.ChangeLogEntry.EntityType;
+import com.clublosamigos.turnero.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Change feed for incremental client sync. Every session and booking change is appended to the
+ * change log inside the transaction that made it, so the log and the data always commit together.
+ * Entries get their token after that commit, from {@link ChangeLogTokenAssigner}, so writers do not
+ * hold the token counter. Clients keep the last token they received and ask only for what changed
+ * after it; the log is compacted per request so an entity changed many times is returned once, in
+ * its current state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogTokenAssigner tokenAssigner;
+    private final TrainingSessionService trainingSessionService;
+    private final BookingService bookingService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${change-feed.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${change-feed.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${change-feed.assign-batch-size:500}")
+    private int assignBatchSize;
+
+    private final AtomicBoolean assignRequested = new AtomicBoolean();
+    private final AtomicBoolean assigning = new AtomicBoolean();
+
+    private Counter upToDate;
+    private Counter incremental;
+    private Counter resets;
+
+    @PostConstruct
+    void registerMetrics() {
+        upToDate = Counter.builder("change.feed.requests")
+                .tag("result", "empty")
+                .description("Change feed requests with nothing new since the token")
+                .register(meterRegistry);
+        incremental = Counter.builder("change.feed.requests")
+                .tag("result", "changes")
+                .description("Change feed requests answered with incremental changes")
+                .register(meterRegistry);
+        resets = Counter.builder("change.feed.requests")
+                .tag("result", "reset")
+                .description("Change feed requests whose token had fallen out of the retained log")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Log a session change in the transaction that made it
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTrainingSessionChanged(TrainingSessionChangedEvent event) {
+        ChangeType changeType = event.getChangeType() == TrainingSessionChangedEvent.ChangeType.DELETED
+                ? ChangeType.DELETE
+                : ChangeType.UPSERT;
+        append(EntityType.SESSION, event.getSessionId(), null, changeType);
+    }
+
+    /**
+     * Log a booking change in the transaction that made it. A change in confirmed participants
+     * also changes the session's seat count, so the session is logged too.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        ChangeType changeType = event.getChangeType() == BookingChangedEvent.ChangeType.DELETED
+                ? ChangeType.DELETE
+                : ChangeType.UPSERT;
+        append(EntityType.BOOKING, event.getBookingId(), event.getUserId(), changeType);
+        if (event.getParticipantDelta() != 0) {
+            append(EntityType.SESSION, event.getSessionId(), null, ChangeType.UPSERT);
+        }
+    }
+
+    /**
+     * Log the bookings cancelled with their session, inserting the entries as one JDBC batch. The
+     * session itself is logged by its own change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSessionBookingsCancelled(SessionBookingsCancelledEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ChangeLogEntry> entries = new ArrayList<>(event.getBookings().size());
+        for (CancelledBooking booking : event.getBookings()) {
+            entries.add(ChangeLogEntry.builder()
+                    .entityType(EntityType.BOOKING)
+                    .entityId(booking.getBookingId())
+                    .userId(booking.getUserId())
+                    .changeType(ChangeType.UPSERT)
+                    .changedAt(now)
+                    .build());
+        }
+        changeLogRepository.saveAll(entries);
+        assignTokensAfterCommit();
+    }
+
+    /**
+     * Log bookings created in bulk, and once each the sessions whose seat count they changed,
+     * inserting the entries as one JDBC batch
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingsCreated(BookingsCreatedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        Set<Long> sessionIds = new LinkedHashSet<>();
+        for (CreatedBooking booking : event.getBookings()) {
+            entries.add(ChangeLogEntry.builder()
+                    .entityType(EntityType.BOOKING)
+                    .entityId(booking.getBookingId())
+                    .userId(booking.getUserId())
+                    .changeType(ChangeType.UPSERT)
+                    .changedAt(now)
+                    .build());
+            sessionIds.add(booking.getSessionId());
+        }
+        for (Long sessionId : sessionIds) {
+            entries.add(ChangeLogEntry.builder()
+                    .entityType(EntityType.SESSION)
+                    .entityId(sessionId)
+                    .changeType(ChangeType.UPSERT)
+                    .changedAt(now)
+                    .build());
+        }
+        changeLogRepository.saveAll(entries);
+        assignTokensAfterCommit();
+    }
+
+    /**
+     * Get the sessions and the caller's bookings changed after a token
+     *
+     * @param userId Caller's user ID
+     * @param since Last token the client received, or null to only obtain the current token
+     * @param limit Maximum change log entries to consume, capped by change-feed.max-page-size
+     * @return ChangeFeedResponse
+     * @throws BadRequestException if the token or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(Long userId, Long since, Integer limit) {
+        long latest = changeLogRepository.findLatestToken().orElse(0L);
+        if (since == null) {
+            return ChangeFeedResponse.builder().nextToken(latest).build();
+        }
+        if (since < 0) {
+            throw new BadRequestException("Change token must not be negative");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+
+        // A token ahead of the log comes from the primary while this read hit a lagging replica
+        if (since >= latest) {
+            upToDate.increment();
+            return ChangeFeedResponse.builder().nextToken(since).build();
+        }
+
+        // Tokens have no gaps, so anything older than the oldest retained entry was purged
+        long oldest = changeLogRepository.findOldestToken().orElse(latest + 1);
+        if (since < oldest - 1) {
+            resets.increment();
+            return ChangeFeedResponse.builder().nextToken(latest).resetRequired(true).build();
+        }
+
+        int pageSize = limit == null ? maxPageSize : Math.min(limit, maxPageSize);
+        List<ChangeLogEntry> entries = changeLogRepository.findChangesSince(since, userId,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        if (entries.isEmpty()) {
+            upToDate.increment();
+            return ChangeFeedResponse.builder().nextToken(since).build();
+        }
+        incremental.increment();
+
+        // Compact the page: the last change of each entity decides whether it is upserted or deleted
+        Map<Long, ChangeType> sessionChanges = new LinkedHashMap<>();
+        Map<Long, ChangeType> bookingChanges = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            Map<Long, ChangeType> changes = entry.getEntityType() == EntityType.SESSION ? sessionChanges : bookingChanges;
+            changes.remove(entry.getEntityId());
+            changes.put(entry.getEntityId(), entry.getChangeType());
+        }
+
+        ChangeFeedResponse response = ChangeFeedResponse.builder()
+                .nextToken(entries.get(entries.size() - 1).getToken())
+                .hasMore(hasMore)
+                .build();
+
+        List<Long> sessionIds = upserts(sessionChanges, response.getDeletedSessionIds());
+        List<TrainingSessionResponse> sessions = trainingSessionService.getTrainingSessionsByIds(sessionIds);
+        response.setSessions(sessions);
+        addMissing(sessionIds, sessions.stream().map(TrainingSessionResponse::getId).collect(Collectors.toSet()),
+                response.getDeletedSessionIds());
+
+        List<Long> bookingIds = upserts(bookingChanges, response.getDeletedBookingIds());
+        List<BookingResponse> bookings = bookingIds.isEmpty()
+                ? new ArrayList<>()
+                : bookingService.getBookingsByIds(bookingIds);
+        response.setBookings(bookings);
+        addMissing(bookingIds, bookings.stream().map(BookingResponse::getId).collect(Collectors.toSet()),
+                response.getDeletedBookingIds());
+
+        return response;
+    }
+
+    /**
+     * Drop change log entries past the retention period; clients holding older tokens are told to reload
+     */
+    @Scheduled(cron = "${change-feed.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeExpiredEntries() {
+        int deleted = changeLogRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} change log entries older than {} days", deleted, retentionDays);
+        }
+    }
+
+    /**
+     * Give tokens to committed entries left without one, e.g. by a node that stopped right after
+     * committing
+     */
+    @Scheduled(fixedDelayString = "${change-feed.assign-sweep-interval-ms:5000}")
+    public void assignPendingTokens() {
+        assignTokens();
+    }
+
+    private void append(EntityType entityType, Long entityId, Long userId, ChangeType changeType) {
+        changeLogRepository.save(ChangeLogEntry.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .userId(userId)
+                .changeType(changeType)
+                .changedAt(LocalDateTime.now())
+                .build());
+        assignTokensAfterCommit();
+    }
+
+    private void assignTokensAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                assignTokens();
+            }
+        });
+    }
+
+    /**
+     * Run the token assignment, one thread at a time per node. A request arriving while another
+     * thread assigns is left to that thread, which loops until no request is outstanding.
+     */
+    private void assignTokens() {
+        assignRequested.set(true);
+        while (assignRequested.get() && assigning.compareAndSet(false, true)) {
+            try {
+                while (assignRequested.getAndSet(false)) {
+                    int assigned;
+                    do {
+                        assigned = tokenAssigner.assignPending(assignBatchSize);
+                    } while (assigned == assignBatchSize);
+                }
+            } catch (RuntimeException ex) {
+                // The entries stay pending and are picked up by the next commit or the sweep
+                log.warn("Could not assign change log tokens: {}", ex.getMessage());
+                return;
+            } finally {
+                assigning.set(false);
+            }
+        }
+    }
+
+    private static List<Long> upserts(Map<Long, ChangeType> changes, List<Long> deletedIds) {
+        List<Long> upserted = new ArrayList<>();
+        changes.forEach((id, changeType) -> {
+            if (changeType == ChangeType.DELETE) {
+                deletedIds.add(id);
+            } else {
+                upserted.add(id);
+            }
+        });
+        return upserted;
+    }
+
+    /**
+     * Upserted entities that are gone by now (deleted after the page's last token) become tombstones
+     */
+    private static void addMissing(List<Long> requestedIds, Set<Long> foundIds, List<Long> deletedIds) {
+        if (requestedIds.size() == foundIds.size()) {
+            return;
+        }
+        for (Long id : requestedIds) {
+            if (!foundIds.contains(id)) {
+                deletedIds.add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.model.ChangeLogEntry;
+import com.clublosamigos.turnero.model.ChangeLogSequence;
+import com.clublosamigos.turnero.repository.ChangeLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Gives change log entries their tokens once the transaction that inserted them committed. Each call
+ * runs in its own short transaction holding the token counter row, so writers never wait on it and
+ * tokens still become visible in order and without gaps.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeLogTokenAssigner {
+
+    private final ChangeLogRepository changeLogRepository;
+
+    /**
+     * Assign the next tokens to committed entries that have none, in insertion order
+     *
+     * @param batchSize Maximum entries to assign
+     * @return Number of entries assigned
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int assignPending(int batchSize) {
+        // Read the pending entries only after taking the lock, so entries numbered by the previous
+        // holder are seen with their tokens
+        ChangeLogSequence sequence = changeLogRepository.lockSequence();
+        List<ChangeLogEntry> pending = changeLogRepository.findPending(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        long token = sequence.getLastToken();
+        for (ChangeLogEntry entry : pending) {
+            entry.setToken(++token);
+        }
+        sequence.setLastToken(token);
+        return pending.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.exception.BadRequestException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsing of {@code fields=} sparse fieldsets for compact list views
+ */
+final class Fieldsets {
+
+    private Fieldsets() {
+    }
+
+    /**
+     * Parse a comma-separated fieldset; the id is always returned, so naming it is allowed and ignored
+     *
+     * @param fields Requested fields, or null for every field
+     * @param allowed Fields the row type supports
+     * @return Selected fields, or null for every field
+     * @throws BadRequestException if a field is unknown
+     */
+    static Set<String> parse(String fields, List<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || name.equals("id")) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Allowed fields: " + String.join(", ", allowed));
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
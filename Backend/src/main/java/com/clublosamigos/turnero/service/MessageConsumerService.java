@@ -2,11 +2,17 @@ package com.clublosamigos.turnero.service;
 
 import com.clublosamigos.turnero.config.RabbitMQConfig;
 import com.clublosamigos.turnero.dto.message.BulkGenerationMessage;
+import com.clublosamigos.turnero.dto.message.EntityInvalidationMessage;
 import com.clublosamigos.turnero.dto.message.NotificationMessage;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.dto.message.SeatChangeMessage;
+import com.clublosamigos.turnero.dto.message.TokenRevocationMessage;
+import com.clublosamigos.turnero.dto.message.UserInvalidationMessage;
 import com.clublosamigos.turnero.model.NotificationLog;
 import com.clublosamigos.turnero.model.User;
 import com.clublosamigos.turnero.repository.NotificationLogRepository;
 import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.security.RevokedTokenRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -20,6 +26,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service for consuming messages from RabbitMQ and processing them
@@ -38,6 +45,13 @@ public class MessageConsumerService {
     private final RestTemplate restTemplate;
     private final NotificationLogRepository notificationLogRepository;
     private final UserRepository userRepository;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final UserSnapshotCache userSnapshotCache;
+    private final SecondLevelCacheSync secondLevelCacheSync;
+    private final SeatAvailabilityStream seatAvailabilityStream;
+    private final ResourceVersions resourceVersions;
+    private final SessionAvailabilitySnapshot availabilitySnapshot;
+    private final SessionSearchIndex searchIndex;
 
     /**
      * Consume notification messages from RabbitMQ and send to n8n
@@ -69,6 +83,18 @@ public class MessageConsumerService {
                 payload.put("training", convertTrainingInfo(message.getTraining()));
             }
 
+            if (message.getRecipients() != null) {
+                payload.put("recipients", message.getRecipients().stream()
+                        .map(this::convertUserInfo)
+                        .collect(Collectors.toList()));
+            }
+
+            if (message.getTrainings() != null) {
+                payload.put("trainings", message.getTrainings().stream()
+                        .map(this::convertTrainingInfo)
+                        .collect(Collectors.toList()));
+            }
+
             // Send to n8n webhook
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -116,6 +142,62 @@ public class MessageConsumerService {
         }
     }
 
+    /**
+     * Consume refresh-token family revocations broadcast by any node (including this one)
+     *
+     * @param message TokenRevocationMessage from this node's revocation queue
+     */
+    @RabbitListener(queues = "#{tokenRevocationQueue.name}")
+    public void consumeTokenRevocation(TokenRevocationMessage message) {
+        log.debug("Received token revocation from RabbitMQ - Family: {}", message.getFamilyId());
+        revokedTokenRegistry.revoke(message.getFamilyId(), message.getExpiresAtEpochMillis());
+    }
+
+    /**
+     * Consume user cache invalidations broadcast by any node (including this one)
+     *
+     * @param message UserInvalidationMessage from this node's invalidation queue
+     */
+    @RabbitListener(queues = "#{userCacheInvalidationQueue.name}")
+    public void consumeUserInvalidation(UserInvalidationMessage message) {
+        log.debug("Received user invalidation from RabbitMQ - User: {}", message.getUserId());
+        userSnapshotCache.apply(message);
+    }
+
+    /**
+     * Consume second-level cache invalidations broadcast by the other nodes
+     *
+     * @param message EntityInvalidationMessage from this node's invalidation queue
+     */
+    @RabbitListener(queues = "#{entityCacheInvalidationQueue.name}")
+    public void consumeEntityInvalidation(EntityInvalidationMessage message) {
+        secondLevelCacheSync.apply(message);
+    }
+
+    /**
+     * Consume seat changes broadcast by the other nodes
+     *
+     * @param message SeatChangeMessage from this node's seat change queue
+     */
+    @RabbitListener(queues = "#{seatChangeQueue.name}")
+    public void consumeSeatChange(SeatChangeMessage message) {
+        seatAvailabilityStream.apply(message);
+    }
+
+    /**
+     * Consume resource changes broadcast by the other nodes
+     *
+     * @param message ResourceChangeMessage from this node's resource version queue
+     */
+    @RabbitListener(queues = "#{resourceVersionQueue.name}")
+    public void consumeResourceChange(ResourceChangeMessage message) {
+        if (resourceVersions.isFromOtherNode(message)) {
+            availabilitySnapshot.apply(message);
+            searchIndex.apply(message);
+        }
+        resourceVersions.apply(message);
+    }
+
     /**
      * Create notification log entry from message
      */
@@ -183,6 +265,7 @@ public class MessageConsumerService {
             NotificationMessage.NotificationEventType messageEventType) {
         return switch (messageEventType) {
             case BOOKING_CONFIRMED -> NotificationLog.NotificationEventType.BOOKING_CONFIRMED;
+            case BOOKING_SERIES_CONFIRMED -> NotificationLog.NotificationEventType.BOOKING_SERIES_CONFIRMED;
             case BOOKING_CANCELLED -> NotificationLog.NotificationEventType.BOOKING_CANCELLED;
             case SESSION_CANCELLED -> NotificationLog.NotificationEventType.SESSION_CANCELLED;
             case SESSION_MODIFIED -> NotificationLog.NotificationEventType.SESSION_MODIFIED;
@@ -2,7 +2,12 @@ package com.clublosamigos.turnero.service;
 
 import com.clublosamigos.turnero.config.RabbitMQConfig;
 import com.clublosamigos.turnero.dto.message.BulkGenerationMessage;
+import com.clublosamigos.turnero.dto.message.EntityInvalidationMessage;
 import com.clublosamigos.turnero.dto.message.NotificationMessage;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.dto.message.SeatChangeMessage;
+import com.clublosamigos.turnero.dto.message.TokenRevocationMessage;
+import com.clublosamigos.turnero.dto.message.UserInvalidationMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -64,6 +69,56 @@ public class MessageProducerService {
         }
     }
 
+    /**
+     * Broadcast a refresh-token family revocation to every node
+     *
+     * @param message TokenRevocationMessage to publish
+     */
+    public void publishTokenRevocation(TokenRevocationMessage message) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.TOKEN_REVOCATION_EXCHANGE, "", message);
+            log.debug("Token revocation published successfully: {}", message);
+        } catch (Exception e) {
+            log.error("Error publishing token revocation to RabbitMQ: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Broadcast a user cache invalidation to every node
+     *
+     * @param message UserInvalidationMessage to publish
+     */
+    public void publishUserInvalidation(UserInvalidationMessage message) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConfig.TURNERO_EXCHANGE,
+                    RabbitMQConfig.ROUTING_KEY_USER_CACHE_INVALIDATE,
+                    message
+            );
+            log.debug("User invalidation published successfully: {}", message);
+        } catch (Exception e) {
+            log.error("Error publishing user invalidation to RabbitMQ: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Broadcast a second-level cache invalidation to every node
+     *
+     * @param message EntityInvalidationMessage to publish
+     */
+    public void publishEntityInvalidation(EntityInvalidationMessage message) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConfig.TURNERO_EXCHANGE,
+                    RabbitMQConfig.ROUTING_KEY_ENTITY_CACHE_INVALIDATE,
+                    message
+            );
+            log.debug("Entity invalidation published successfully: {}", message);
+        } catch (Exception e) {
+            log.error("Error publishing entity invalidation to RabbitMQ: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Get routing key based on notification event type
      *
@@ -73,10 +128,47 @@ public class MessageProducerService {
     private String getRoutingKeyForEvent(NotificationMessage.NotificationEventType eventType) {
         return switch (eventType) {
             case BOOKING_CONFIRMED -> RabbitMQConfig.ROUTING_KEY_BOOKING_CONFIRMED;
+            case BOOKING_SERIES_CONFIRMED -> RabbitMQConfig.ROUTING_KEY_BOOKING_SERIES_CONFIRMED;
             case BOOKING_CANCELLED -> RabbitMQConfig.ROUTING_KEY_BOOKING_CANCELLED;
             case SESSION_CANCELLED -> RabbitMQConfig.ROUTING_KEY_SESSION_CANCELLED;
             case SESSION_MODIFIED -> RabbitMQConfig.ROUTING_KEY_SESSION_MODIFIED;
             case REMINDER_24H -> RabbitMQConfig.ROUTING_KEY_REMINDER_24H;
         };
     }
+
+    /**
+     * Broadcast a seat change to every node serving seat streams
+     *
+     * @param message SeatChangeMessage to publish
+     */
+    public void publishSeatChange(SeatChangeMessage message) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConfig.TURNERO_EXCHANGE,
+                    RabbitMQConfig.ROUTING_KEY_SEATS_CHANGED,
+                    message
+            );
+            log.debug("Seat change published successfully: {}", message);
+        } catch (Exception e) {
+            log.error("Error publishing seat change to RabbitMQ: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Broadcast a resource change so every node bumps its resource versions
+     *
+     * @param message ResourceChangeMessage to publish
+     */
+    public void publishResourceChange(ResourceChangeMessage message) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConfig.TURNERO_EXCHANGE,
+                    RabbitMQConfig.ROUTING_KEY_RESOURCE_VERSION,
+                    message
+            );
+            log.debug("Resource change published successfully: {}", message);
+        } catch (Exception e) {
+            log.error("Error publishing resource change to RabbitMQ: {}", e.getMessage(), e);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.clublosamigos.turnero.service;
 
 import com.clublosamigos.turnero.dto.message.NotificationMessage;
+import com.clublosamigos.turnero.model.SlotConfiguration;
 import com.clublosamigos.turnero.model.TrainingSession;
 import com.clublosamigos.turnero.model.User;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Service for sending notifications to users via RabbitMQ
@@ -41,6 +44,30 @@ public class NotificationService {
         messageProducerService.publishNotification(message);
     }
 
+    /**
+     * Send one confirmation for every booking of a series
+     *
+     * @param user User who booked the series
+     * @param slotConfiguration Slot configuration the sessions were generated from
+     * @param sessions Training sessions that were booked
+     */
+    @Async
+    public void sendSeriesBookingConfirmation(User user, SlotConfiguration slotConfiguration,
+                                              List<TrainingSession> sessions) {
+        log.info("Publishing series booking confirmation notification for user {}, slot configuration {} and {} sessions",
+                user.getEmail(), slotConfiguration.getName(), sessions.size());
+
+        NotificationMessage message = NotificationMessage.builder()
+                .eventType(NotificationMessage.NotificationEventType.BOOKING_SERIES_CONFIRMED)
+                .user(createUserInfo(user))
+                .trainings(sessions.stream()
+                        .map(this::createTrainingInfo)
+                        .collect(Collectors.toList()))
+                .build();
+
+        messageProducerService.publishNotification(message);
+    }
+
     /**
      * Send booking cancellation notification
      *
@@ -85,14 +112,19 @@ public class NotificationService {
      * Send session cancellation notification to all participants
      *
      * @param session Cancelled training session
+     * @param participants Users whose bookings were cancelled with the session
      */
     @Async
-    public void sendSessionCancellationToParticipants(TrainingSession session) {
-        log.info("Publishing session cancellation notification for session {}", session.getName());
+    public void sendSessionCancellationToParticipants(TrainingSession session, List<User> participants) {
+        log.info("Publishing session cancellation notification for session {} to {} participants",
+                session.getName(), participants.size());
 
         NotificationMessage message = NotificationMessage.builder()
                 .eventType(NotificationMessage.NotificationEventType.SESSION_CANCELLED)
                 .training(createTrainingInfo(session))
+                .recipients(participants.stream()
+                        .map(this::createUserInfo)
+                        .collect(Collectors.toList()))
                 .build();
 
         messageProducerService.publishNotification(message);
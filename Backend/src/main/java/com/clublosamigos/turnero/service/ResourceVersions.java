@@ -0,0 +1,484 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.config.ReplicaHealthMonitor;
+import com.clublosamigos.turnero.config.ReplicaRoutingDataSource;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage.ResourceType;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent.CreatedBooking;
+import com.clublosamigos.turnero.event.SessionBookingsCancelledEvent;
+import com.clublosamigos.turnero.event.SessionBookingsCancelledEvent.CancelledBooking;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.event.UserChangedEvent;
+import com.clublosamigos.turnero.model.ChangeLogSequence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Versions behind the ETags of session and booking reads. Every committed session, booking or user
+ * change takes the next value of a shared counter in the database and raises the versions of the
+ * collections whose responses it can alter (all sessions, a date, a session, a user's bookings) to
+ * it, here and on every other node through the {@code cache.resource.version} broadcast. A
+ * conditional GET is answered from the highest version of a few collections, before any query runs.
+ * <p>
+ * Values are taken after commit, so a change committed after a response was read always gets a
+ * higher value than the response's ETag reflects, and nodes that applied the same changes compute
+ * the same ETags. A starting node raises every version to the counter's current value, which at
+ * worst costs other nodes' clients a 200 for collections that have not changed since. Per-key
+ * versions are striped into fixed arrays: keys sharing a stripe invalidate each other, which costs a
+ * 200 instead of a 304 but keeps memory constant. Changes that could not take a shared value are
+ * counted locally and make the ETags they affect specific to this node.
+ * <p>
+ * For the replica lag window after a change, the bodies of the affected collections are read from
+ * the primary (see {@link ResourceVersion#read}), so a stale replica read never goes out under an
+ * ETag that already reflects the change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResourceVersions {
+
+    /** Surrogate key of every session list; per-session and per-date keys are derived from it */
+    public static final String SESSIONS_KEY = "sessions";
+
+    /** Longer date ranges are versioned by the all-sessions counter */
+    private static final int MAX_DATE_RANGE_DAYS = 62;
+
+    /** Last-Modified is only sent once the last change is this old, so a later change always lands in a later second */
+    private static final long LAST_MODIFIED_SETTLE_MILLIS = 1000;
+
+    private final MessageProducerService messageProducerService;
+    private final SequenceAllocator sequenceAllocator;
+    private final ObjectProvider<ReplicaHealthMonitor> replicaHealthMonitor;
+    private final MeterRegistry meterRegistry;
+
+    /** Identifies this process in broadcasts and in ETags that are specific to it */
+    private final String nodeId = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    /** Set once every version has been raised to the shared counter */
+    private volatile boolean shared;
+
+    /** Reads of a collection changed more recently than this go to the primary */
+    private long replicaLagMillis;
+
+    /**
+     * A version settles once no replica can still be missing its last change; only then is Last-Modified
+     * sent and the body cached by {@link SerializedResponseCache}
+     */
+    private long settleMillis;
+
+    /** Bumped by user changes, which alter the trainer and booking user embedded in every response */
+    private final Stripes users = new Stripes(1);
+    private final Stripes allSessions = new Stripes(1);
+    private final Stripes allBookings = new Stripes(1);
+    private final Stripes sessionsByDate = new Stripes(1024);
+    private final Stripes sessionsById = new Stripes(4096);
+    private final Stripes bookingsByUser = new Stripes(4096);
+
+    private Counter bumps;
+    private Counter localBumps;
+
+    @PostConstruct
+    void registerMetrics() {
+        bumps = Counter.builder("resource.versions.bumps")
+                .description("Committed changes applied to the ETag version counters")
+                .register(meterRegistry);
+        localBumps = Counter.builder("resource.versions.local.bumps")
+                .description("Committed changes that could not take a shared version")
+                .register(meterRegistry);
+        ReplicaHealthMonitor monitor = replicaHealthMonitor.getIfAvailable();
+        // Lag is reported in whole seconds
+        replicaLagMillis = monitor != null ? (monitor.getMaxLagSeconds() + 1) * 1000 : 0;
+        settleMillis = Math.max(LAST_MODIFIED_SETTLE_MILLIS, replicaLagMillis);
+    }
+
+    /**
+     * Raise every version to the shared counter, once this node receives the broadcasts of later changes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void joinSharedVersions() {
+        try {
+            long current = sequenceAllocator.current(ChangeLogSequence.RESOURCE_VERSIONS_ID);
+            for (Stripes stripes : List.of(users, allSessions, allBookings, sessionsByDate, sessionsById, bookingsByUser)) {
+                stripes.raiseAll(current);
+            }
+            shared = true;
+        } catch (RuntimeException ex) {
+            log.warn("Shared resource versions unavailable, ETags stay specific to this node: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Version of every session list (all, search, by trainer)
+     */
+    public ResourceVersion sessions() {
+        return new Builder().add(users, 0).add(allSessions, 0).surrogateKey(SESSIONS_KEY).build();
+    }
+
+    /**
+     * Version of upcoming sessions, which also depends on the current day
+     */
+    public ResourceVersion upcomingSessions() {
+        return new Builder().add(users, 0).add(allSessions, 0).today().surrogateKey(SESSIONS_KEY).build();
+    }
+
+    /**
+     * Version of one session, including its participant count
+     *
+     * @param sessionId Training session ID
+     */
+    public ResourceVersion session(Long sessionId) {
+        return new Builder().add(users, 0).add(sessionsById, sessionId).surrogateKey(sessionKey(sessionId)).build();
+    }
+
+    /**
+     * Version of the sessions of a date range
+     *
+     * @param startDate Start date
+     * @param endDate End date
+     */
+    public ResourceVersion sessionsBetween(LocalDate startDate, LocalDate endDate) {
+        Builder builder = new Builder().add(users, 0);
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
+        if (days < 0 || days >= MAX_DATE_RANGE_DAYS) {
+            return builder.add(allSessions, 0).surrogateKey(SESSIONS_KEY).build();
+        }
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            builder.add(sessionsByDate, date).surrogateKey(dateKey(date));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Version of the list of all bookings; bookings embed their session
+     */
+    public ResourceVersion bookings() {
+        return new Builder().add(users, 0).add(allSessions, 0).add(allBookings, 0).build();
+    }
+
+    /**
+     * Version of a user's bookings
+     *
+     * @param userId User ID
+     */
+    public ResourceVersion bookingsOfUser(Long userId) {
+        return new Builder().add(users, 0).add(allSessions, 0).add(bookingsByUser, userId).build();
+    }
+
+    /**
+     * Version of a user's upcoming bookings, which also depends on the current day
+     *
+     * @param userId User ID
+     */
+    public ResourceVersion upcomingBookingsOfUser(Long userId) {
+        return new Builder().add(users, 0).add(allSessions, 0).add(bookingsByUser, userId).today().build();
+    }
+
+    /**
+     * Version of the bookings of one session
+     *
+     * @param sessionId Training session ID
+     */
+    public ResourceVersion bookingsOfSession(Long sessionId) {
+        return new Builder().add(users, 0).add(sessionsById, sessionId).build();
+    }
+
+    /**
+     * Surrogate key of one session's cached responses
+     */
+    public static String sessionKey(Long sessionId) {
+        return SESSIONS_KEY + "-" + sessionId;
+    }
+
+    /**
+     * Surrogate key of the cached responses covering a date
+     */
+    public static String dateKey(LocalDate date) {
+        return SESSIONS_KEY + "-" + date;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingSessionChanged(TrainingSessionChangedEvent event) {
+        publish(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.SESSION)
+                .sessionId(event.getSessionId())
+                .sessionDate(event.getDate())
+                .previousDate(event.getPreviousDate())
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        publish(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.BOOKING)
+                .sessionId(event.getSessionId())
+                .sessionDate(event.getSessionDate())
+                .userId(event.getUserId())
+                .seatsChanged(event.getParticipantDelta() != 0)
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingsCreatedEvent event) {
+        publish(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.BOOKING)
+                .sessionIds(event.getBookings().stream()
+                        .map(CreatedBooking::getSessionId)
+                        .distinct()
+                        .collect(Collectors.toList()))
+                .sessionDates(event.getBookings().stream()
+                        .map(CreatedBooking::getSessionDate)
+                        .distinct()
+                        .collect(Collectors.toList()))
+                .userIds(event.getBookings().stream()
+                        .map(CreatedBooking::getUserId)
+                        .distinct()
+                        .collect(Collectors.toList()))
+                .seatsChanged(true)
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionBookingsCancelled(SessionBookingsCancelledEvent event) {
+        publish(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.BOOKING)
+                .sessionId(event.getSessionId())
+                .sessionDate(event.getSessionDate())
+                .userIds(event.getBookings().stream()
+                        .map(CancelledBooking::getUserId)
+                        .collect(Collectors.toList()))
+                .seatsChanged(true)
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        publish(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.USER)
+                .userId(event.getUserId())
+                .build());
+    }
+
+    /**
+     * Bump the versions affected by a change made on another node
+     *
+     * @param message Change broadcast by any node
+     */
+    public void apply(ResourceChangeMessage message) {
+        if (!isFromOtherNode(message)) {
+            return;
+        }
+        bump(message);
+    }
+
+    /**
+     * @param message Change broadcast by any node
+     * @return true if the change was made on another node, false if this node published it
+     */
+    public boolean isFromOtherNode(ResourceChangeMessage message) {
+        return !nodeId.equals(message.getOriginNode());
+    }
+
+    private void publish(ResourceChangeMessage message) {
+        message.setOriginNode(nodeId);
+        message.setVersion(nextVersion());
+        bump(message);
+        messageProducerService.publishResourceChange(message);
+    }
+
+    private Long nextVersion() {
+        try {
+            return sequenceAllocator.next(ChangeLogSequence.RESOURCE_VERSIONS_ID);
+        } catch (RuntimeException ex) {
+            log.warn("Could not take a shared resource version, the change is versioned on each node: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private void bump(ResourceChangeMessage message) {
+        bumps.increment();
+        Long version = message.getVersion();
+        if (version == null) {
+            localBumps.increment();
+        }
+        switch (message.getResourceType()) {
+            case SESSION -> {
+                allSessions.bump(0, version);
+                sessionsById.bump(message.getSessionId(), version);
+                sessionsByDate.bump(message.getSessionDate(), version);
+                if (message.getPreviousDate() != null) {
+                    sessionsByDate.bump(message.getPreviousDate(), version);
+                }
+            }
+            case BOOKING -> {
+                allBookings.bump(0, version);
+                if (message.getUserIds() != null) {
+                    message.getUserIds().forEach(userId -> bookingsByUser.bump(userId, version));
+                } else {
+                    bookingsByUser.bump(message.getUserId(), version);
+                }
+                if (message.getSessionIds() != null) {
+                    message.getSessionIds().forEach(sessionId -> sessionsById.bump(sessionId, version));
+                } else {
+                    sessionsById.bump(message.getSessionId(), version);
+                }
+                if (message.isSeatsChanged()) {
+                    allSessions.bump(0, version);
+                    if (message.getSessionDates() != null) {
+                        message.getSessionDates().forEach(date -> sessionsByDate.bump(date, version));
+                    } else {
+                        sessionsByDate.bump(message.getSessionDate(), version);
+                    }
+                }
+            }
+            case USER -> users.bump(0, version);
+        }
+    }
+
+    /**
+     * Strong validator of a resource: the ETag, a Last-Modified time or -1 when it is not yet safe to
+     * send one, the surrogate keys that identify the response in shared caches, and whether the
+     * resource changed recently enough that a replica may not have the change yet
+     */
+    @Value
+    public static class ResourceVersion {
+        String etag;
+        long lastModified;
+        List<String> surrogateKeys;
+        boolean primaryOnly;
+
+        /**
+         * Run the reads that build the body, on the primary while replicas may still lag behind the
+         * version
+         *
+         * @param reads Reads that build the body
+         * @return Result of the reads
+         */
+        public <T> T read(Supplier<T> reads) {
+            return primaryOnly ? ReplicaRoutingDataSource.readFromPrimary(reads) : reads.get();
+        }
+
+        /**
+         * Version of one representation of the resource; its ETag also names the response format, so
+         * a validator obtained in one format never revalidates a body cached in another
+         *
+         * @param format Format of the response body, e.g. the media subtype
+         * @return ResourceVersion with a per-format ETag
+         */
+        public ResourceVersion withFormat(String format) {
+            return new ResourceVersion(etag.substring(0, etag.length() - 1) + "-" + format + "\"",
+                    lastModified, surrogateKeys, primaryOnly);
+        }
+    }
+
+    private final class Builder {
+
+        private long version;
+        private long localChanges;
+        private long lastChange;
+        private long lastModified;
+        private String suffix = "";
+        private final List<String> surrogateKeys = new ArrayList<>();
+
+        Builder add(Stripes stripes, Object key) {
+            int index = stripes.index(key);
+            version = Math.max(version, stripes.versions.get(index));
+            localChanges += stripes.localChanges.get(index);
+            lastChange = Math.max(lastChange, stripes.modifiedAt.get(index));
+            lastModified = Math.max(lastModified, lastChange);
+            return this;
+        }
+
+        Builder surrogateKey(String key) {
+            surrogateKeys.add(key);
+            return this;
+        }
+
+        Builder today() {
+            LocalDate today = LocalDate.now();
+            suffix = "-" + today.toEpochDay();
+            lastModified = Math.max(lastModified, today.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            return this;
+        }
+
+        ResourceVersion build() {
+            long now = System.currentTimeMillis();
+            boolean settled = now - lastModified >= settleMillis;
+            StringBuilder etag = new StringBuilder("\"").append(Long.toString(version, 36));
+            if (!shared || localChanges != 0) {
+                etag.append('.').append(nodeId).append(Long.toString(localChanges, 36));
+            }
+            etag.append(suffix).append('"');
+            return new ResourceVersion(etag.toString(), settled ? lastModified : -1, List.copyOf(surrogateKeys),
+                    now - lastChange < replicaLagMillis);
+        }
+    }
+
+    /**
+     * Fixed array of versions, with the number of changes that had no shared version and the time of
+     * the last change
+     */
+    private static final class Stripes {
+
+        private final AtomicLongArray versions;
+        private final AtomicLongArray localChanges;
+        private final AtomicLongArray modifiedAt;
+
+        Stripes(int size) {
+            versions = new AtomicLongArray(size);
+            localChanges = new AtomicLongArray(size);
+            modifiedAt = new AtomicLongArray(size);
+            long startedAt = System.currentTimeMillis();
+            for (int i = 0; i < size; i++) {
+                modifiedAt.set(i, startedAt);
+            }
+        }
+
+        int index(Object key) {
+            if (key == null || versions.length() == 1) {
+                return 0;
+            }
+            int hash = key.hashCode();
+            return (hash ^ (hash >>> 16)) & (versions.length() - 1);
+        }
+
+        /**
+         * Raise the key's version to a shared value, or count a change without one when it is null
+         */
+        void bump(Object key, Long version) {
+            int index = index(key);
+            if (version != null) {
+                versions.accumulateAndGet(index, version, Math::max);
+            } else {
+                localChanges.incrementAndGet(index);
+            }
+            modifiedAt.accumulateAndGet(index, System.currentTimeMillis(), Math::max);
+        }
+
+        void raiseAll(long version) {
+            for (int i = 0; i < versions.length(); i++) {
+                versions.accumulateAndGet(i, version, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.model.TrainingSession;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory per-day interval index of scheduled sessions, keyed by trainer and by location.
+ * Built from a couple of range queries so that bulk paths can check many candidate sessions
+ * without one overlap query per row.
+ */
+class ScheduleIndex {
+
+    private final Map<Long, Map<LocalDate, DayIntervals>> byTrainer = new HashMap<>();
+    private final Map<String, Map<LocalDate, DayIntervals>> byLocation = new HashMap<>();
+
+    static ScheduleIndex of(List<TrainingSession> trainerSessions, List<TrainingSession> locationSessions) {
+        ScheduleIndex index = new ScheduleIndex();
+        trainerSessions.forEach(index::addTrainerSession);
+        locationSessions.forEach(index::addLocationSession);
+        return index;
+    }
+
+    List<Interval> trainerOverlaps(Long trainerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return overlaps(byTrainer.get(trainerId), date, startTime, endTime);
+    }
+
+    List<Interval> locationOverlaps(String location, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return overlaps(byLocation.get(locationKey(location)), date, startTime, endTime);
+    }
+
+    private void addTrainerSession(TrainingSession session) {
+        day(byTrainer, session.getTrainer().getId(), session.getDate()).insert(toInterval(session));
+    }
+
+    private void addLocationSession(TrainingSession session) {
+        day(byLocation, locationKey(session.getLocation()), session.getDate()).insert(toInterval(session));
+    }
+
+    private static Interval toInterval(TrainingSession session) {
+        return new Interval(session.getId(), session.getName(), session.getStartTime(), session.getEndTime());
+    }
+
+    private static <K> DayIntervals day(Map<K, Map<LocalDate, DayIntervals>> index, K key, LocalDate date) {
+        return index.computeIfAbsent(key, k -> new HashMap<>()).computeIfAbsent(date, d -> new DayIntervals());
+    }
+
+    private static List<Interval> overlaps(Map<LocalDate, DayIntervals> days, LocalDate date,
+                                           LocalTime startTime, LocalTime endTime) {
+        if (days == null) {
+            return Collections.emptyList();
+        }
+        DayIntervals intervals = days.get(date);
+        return intervals != null ? intervals.overlapping(startTime, endTime) : Collections.emptyList();
+    }
+
+    /**
+     * Locations are compared the way the database collation does: case-insensitive, trimmed.
+     */
+    private static String locationKey(String location) {
+        return location == null ? "" : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A scheduled session occupying a time range
+     */
+    @Value
+    static class Interval {
+        Long sessionId;
+        String sessionName;
+        LocalTime startTime;
+        LocalTime endTime;
+    }
+
+    /**
+     * Intervals of a single day sorted by start, augmented with the running maximum end so
+     * that "is anything overlapping" is a binary search plus one comparison. Intervals are
+     * appended as they are loaded and sorted once, on the first lookup after a change.
+     */
+    private static final class DayIntervals {
+
+        private final List<Interval> intervals = new ArrayList<>();
+        private int[] maxEndPrefix = new int[0];
+        private boolean sorted = true;
+
+        void insert(Interval interval) {
+            intervals.add(interval);
+            sorted = false;
+        }
+
+        List<Interval> overlapping(LocalTime startTime, LocalTime endTime) {
+            if (!sorted) {
+                sort();
+            }
+            int start = startTime.toSecondOfDay();
+            int candidates = firstStartingAtOrAfter(endTime.toSecondOfDay());
+            if (candidates == 0 || maxEndPrefix[candidates - 1] <= start) {
+                return Collections.emptyList();
+            }
+
+            List<Interval> result = new ArrayList<>();
+            for (int i = 0; i < candidates; i++) {
+                Interval interval = intervals.get(i);
+                if (interval.getEndTime().toSecondOfDay() > start) {
+                    result.add(interval);
+                }
+            }
+            return result;
+        }
+
+        private void sort() {
+            intervals.sort(Comparator.comparing(Interval::getStartTime));
+            maxEndPrefix = new int[intervals.size()];
+            int maxEnd = 0;
+            for (int i = 0; i < intervals.size(); i++) {
+                maxEnd = Math.max(maxEnd, intervals.get(i).getEndTime().toSecondOfDay());
+                maxEndPrefix[i] = maxEnd;
+            }
+            sorted = true;
+        }
+
+        private int firstStartingAtOrAfter(int secondOfDay) {
+            int low = 0;
+            int high = intervals.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (intervals.get(mid).getStartTime().toSecondOfDay() < secondOfDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
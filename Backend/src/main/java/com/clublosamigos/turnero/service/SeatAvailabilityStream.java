@@ -0,0 +1,547 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.SeatChangeMessage;
+import com.clublosamigos.turnero.dto.response.SeatUpdateResponse;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent.CreatedBooking;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Live seat availability over Server-Sent Events. Clients subscribe to session ids and/or dates
+ * and receive a {@code seats} event with the current seats left whenever a booking commit changes
+ * them, on this node or, through the {@code availability.seats.changed} broadcast, on any other.
+ * Changes are coalesced per session and pushed at most once per interval: one grouped query reads
+ * the seats of every changed session, each update is serialized once and shared by all of its
+ * subscribers. Connections hold no thread; a small sender pool drains per-subscriber outboxes, and
+ * a subscriber whose outbox overflows is disconnected so one slow client cannot hold memory. A write
+ * still blocked after the write timeout disconnects its subscriber and the pool gets a replacement
+ * thread until the write returns, so stalled clients cannot starve the others. Flushes, heartbeats
+ * and the write watchdog run on the stream's own scheduler thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatAvailabilityStream {
+
+    private static final String SEATS_EVENT = "seats";
+    private static final int MAX_SESSIONS_PER_STREAM = 50;
+    private static final int MAX_DATES_PER_STREAM = 7;
+    private static final int MAX_STALLED_SENDERS = 64;
+
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final MessageProducerService messageProducerService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seat-stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${seat-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${seat-stream.max-queued-events:256}")
+    private int maxQueuedEvents;
+
+    @Value("${seat-stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${seat-stream.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    @Value("${seat-stream.max-connections-per-client:20}")
+    private int maxConnectionsPerClient;
+
+    @Value("${seat-stream.coalesce-interval-ms:1000}")
+    private long coalesceIntervalMs;
+
+    @Value("${seat-stream.heartbeat-interval-ms:25000}")
+    private long heartbeatIntervalMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> bySession = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Set<Subscriber>> byDate = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> connectionsByClient = new ConcurrentHashMap<>();
+
+    /**
+     * Seat changes received since the last flush, merged per session
+     */
+    private final Map<Long, PendingChange> pending = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor sender;
+    private ScheduledExecutorService scheduler;
+    /** Sender threads blocked past the write timeout, each compensated by an extra pool thread */
+    private final AtomicInteger stalledSenders = new AtomicInteger();
+    private Counter updatesPushed;
+    private Counter slowConsumersDropped;
+    private Counter stalledWrites;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "seat-stream-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, sender, "seat.stream.sender");
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule(this::flush, coalesceIntervalMs);
+        schedule(this::heartbeat, heartbeatIntervalMs);
+        schedule(this::checkStalledWrites, Math.max(100, writeTimeoutMs / 2));
+
+        updatesPushed = Counter.builder("seat.stream.updates")
+                .description("Seat updates queued to subscribers")
+                .register(meterRegistry);
+        slowConsumersDropped = Counter.builder("seat.stream.dropped")
+                .description("Seat stream subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        stalledWrites = Counter.builder("seat.stream.stalled.writes")
+                .description("Seat stream writes still blocked after the write timeout")
+                .register(meterRegistry);
+        Gauge.builder("seat.stream.connections", subscribers, Set::size)
+                .description("Open seat stream connections on this node")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        new ArrayList<>(subscribers).forEach(Subscriber::close);
+        sender.shutdownNow();
+    }
+
+    /**
+     * Open a seat stream for sessions and/or dates. The current seats of every matching session are
+     * sent first, then one update per changed session and coalescing interval.
+     *
+     * @param sessionIds Sessions to watch, may be empty
+     * @param dates Dates whose active sessions to watch, may be empty
+     * @param clientIp Address of the client, whose open streams are limited
+     * @return Emitter bound to the response
+     * @throws BadRequestException if nothing or too much is requested
+     * @throws TooManyRequestsException if this node or this client already holds the maximum number of streams
+     */
+    public SseEmitter subscribe(List<Long> sessionIds, List<LocalDate> dates, String clientIp) {
+        Set<Long> watchedSessions = sessionIds != null ? new LinkedHashSet<>(sessionIds) : Set.of();
+        Set<LocalDate> watchedDates = dates != null ? new LinkedHashSet<>(dates) : Set.of();
+        if (watchedSessions.isEmpty() && watchedDates.isEmpty()) {
+            throw new BadRequestException("At least one session id or date is required");
+        }
+        if (watchedSessions.size() > MAX_SESSIONS_PER_STREAM) {
+            throw new BadRequestException("A stream can watch at most " + MAX_SESSIONS_PER_STREAM + " sessions");
+        }
+        if (watchedDates.size() > MAX_DATES_PER_STREAM) {
+            throw new BadRequestException("A stream can watch at most " + MAX_DATES_PER_STREAM + " dates");
+        }
+        if (subscribers.size() >= maxConnections) {
+            throw new TooManyRequestsException("Too many open seat streams, please retry later", 5);
+        }
+        AtomicInteger clientConnections = connectionsByClient.compute(clientIp, (k, count) -> {
+            AtomicInteger connections = count != null ? count : new AtomicInteger();
+            connections.incrementAndGet();
+            return connections;
+        });
+        if (clientConnections.get() > maxConnectionsPerClient) {
+            releaseClient(clientIp);
+            throw new TooManyRequestsException("Too many open seat streams from this client, close one and retry", 5);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, watchedSessions, watchedDates, clientIp);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        watchedSessions.forEach(id -> bySession.compute(id, (k, set) -> withSubscriber(set, subscriber)));
+        watchedDates.forEach(date -> byDate.compute(date, (k, set) -> withSubscriber(set, subscriber)));
+
+        Map<Long, Object[]> rows = new HashMap<>();
+        if (!watchedSessions.isEmpty()) {
+            trainingSessionRepository.findSeatRowsBySessionIds(watchedSessions).forEach(row -> rows.put((Long) row[0], row));
+        }
+        if (!watchedDates.isEmpty()) {
+            trainingSessionRepository.findSeatRowsByDates(watchedDates).forEach(row -> rows.put((Long) row[0], row));
+        }
+        rows.values().forEach(row -> subscriber.offer(serialize(toUpdate(row, 0))));
+        return emitter;
+    }
+
+    /**
+     * Queue the seat change of a committed booking and broadcast it to the other nodes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.getParticipantDelta() == 0) {
+            return;
+        }
+        publish(event.getSessionId(), event.getSessionDate(), null, event.getParticipantDelta());
+    }
+
+    /**
+     * Queue the seat changes of bookings created in bulk, one change per session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingsCreatedEvent event) {
+        event.getBookings().stream()
+                .collect(Collectors.groupingBy(CreatedBooking::getSessionId))
+                .forEach((sessionId, bookings) ->
+                        publish(sessionId, bookings.get(0).getSessionDate(), null, bookings.size()));
+    }
+
+    /**
+     * Queue a committed session change; capacity, status or date may have changed, or the session
+     * is new and appears on its date
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingSessionChanged(TrainingSessionChangedEvent event) {
+        publish(event.getSessionId(), event.getDate(), event.getPreviousDate(), 0);
+    }
+
+    /**
+     * Queue a seat change committed on another node
+     *
+     * @param message Seat change broadcast by any node
+     */
+    public void apply(SeatChangeMessage message) {
+        if (nodeId.equals(message.getOriginNode())) {
+            return;
+        }
+        record(message.getSessionId(), message.getSessionDate(), message.getPreviousDate(), message.getParticipantDelta());
+    }
+
+    /**
+     * Push one update per changed session that has subscribers
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, PendingChange> changes = new HashMap<>();
+        for (Long sessionId : new ArrayList<>(pending.keySet())) {
+            PendingChange change = pending.remove(sessionId);
+            if (change != null && hasSubscribers(sessionId, change)) {
+                changes.put(sessionId, change);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Object[]> rows = new HashMap<>();
+        trainingSessionRepository.findSeatRowsBySessionIds(changes.keySet()).forEach(row -> rows.put((Long) row[0], row));
+
+        changes.forEach((sessionId, change) -> {
+            Object[] row = rows.get(sessionId);
+            SeatUpdateResponse update = row != null
+                    ? toUpdate(row, -change.participantDelta)
+                    : SeatUpdateResponse.builder()
+                            .sessionId(sessionId)
+                            .date(change.date)
+                            .seatsLeft(0)
+                            .seatsDelta(-change.participantDelta)
+                            .active(false)
+                            .build();
+            String json = serialize(update);
+
+            Set<Subscriber> targets = new HashSet<>(bySession.getOrDefault(sessionId, Set.of()));
+            targets.addAll(byDate.getOrDefault(change.date, Set.of()));
+            if (change.previousDate != null) {
+                targets.addAll(byDate.getOrDefault(change.previousDate, Set.of()));
+            }
+            targets.forEach(subscriber -> subscriber.offer(json));
+            updatesPushed.increment(targets.size());
+        });
+    }
+
+    /**
+     * Comment frame keeping idle connections open through proxies and detecting closed clients
+     */
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(null));
+    }
+
+    /**
+     * Disconnect subscribers whose write is blocked past the write timeout and give the sender pool
+     * a replacement thread for each blocked one
+     */
+    void checkStalledWrites() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        subscribers.forEach(subscriber -> {
+            long startedAt = subscriber.writeStartedAt;
+            if (startedAt != 0 && startedAt - deadline < 0 && subscriber.markStalled()) {
+                stalledWrites.increment();
+                slowConsumersDropped.increment();
+                log.debug("Dropping seat stream subscriber blocked on a write for over {} ms", writeTimeoutMs);
+                resizeSender(stalledSenders.incrementAndGet());
+                subscriber.abort();
+            }
+        });
+    }
+
+    private void schedule(Runnable task, long intervalMs) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                log.error("Seat stream task failed: {}", ex.getMessage(), ex);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Keep senderThreads threads free to write while some are blocked; grows max before core and
+     * shrinks core before max as the pool requires
+     */
+    private synchronized void resizeSender(int stalled) {
+        int size = senderThreads + Math.min(stalled, MAX_STALLED_SENDERS);
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void releaseClient(String clientIp) {
+        connectionsByClient.computeIfPresent(clientIp, (k, count) -> count.decrementAndGet() > 0 ? count : null);
+    }
+
+    private void publish(Long sessionId, LocalDate date, LocalDate previousDate, int participantDelta) {
+        record(sessionId, date, previousDate, participantDelta);
+        messageProducerService.publishSeatChange(SeatChangeMessage.builder()
+                .originNode(nodeId)
+                .sessionId(sessionId)
+                .sessionDate(date)
+                .previousDate(previousDate)
+                .participantDelta(participantDelta)
+                .build());
+    }
+
+    private void record(Long sessionId, LocalDate date, LocalDate previousDate, int participantDelta) {
+        if (subscribers.isEmpty()) {
+            // New subscribers start from a fresh snapshot, nothing to remember
+            return;
+        }
+        pending.merge(sessionId, new PendingChange(date, previousDate, participantDelta), PendingChange::merge);
+    }
+
+    private boolean hasSubscribers(Long sessionId, PendingChange change) {
+        return bySession.containsKey(sessionId)
+                || byDate.containsKey(change.date)
+                || (change.previousDate != null && byDate.containsKey(change.previousDate));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        releaseClient(subscriber.clientIp);
+        subscriber.sessionIds.forEach(id -> bySession.computeIfPresent(id, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+        subscriber.dates.forEach(date -> byDate.computeIfPresent(date, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+    }
+
+    /**
+     * Registration and removal both go through compute so an add never lands in a set being dropped
+     */
+    private static Set<Subscriber> withSubscriber(Set<Subscriber> set, Subscriber subscriber) {
+        Set<Subscriber> subscribed = set != null ? set : ConcurrentHashMap.newKeySet();
+        subscribed.add(subscriber);
+        return subscribed;
+    }
+
+    private static SeatUpdateResponse toUpdate(Object[] row, int seatsDelta) {
+        int maxParticipants = row[2] != null ? (Integer) row[2] : 8;
+        return SeatUpdateResponse.builder()
+                .sessionId((Long) row[0])
+                .date((LocalDate) row[1])
+                .seatsLeft(maxParticipants - ((Long) row[3]).intValue())
+                .seatsDelta(seatsDelta)
+                .active(true)
+                .build();
+    }
+
+    private String serialize(SeatUpdateResponse update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Seat update not serializable", ex);
+        }
+    }
+
+    /**
+     * Seat changes of one session accumulated between two flushes
+     */
+    private record PendingChange(LocalDate date, LocalDate previousDate, int participantDelta) {
+
+        PendingChange merge(PendingChange later) {
+            return new PendingChange(later.date,
+                    later.previousDate != null ? later.previousDate : previousDate,
+                    participantDelta + later.participantDelta);
+        }
+    }
+
+    /**
+     * One open stream with its bounded outbox; an empty entry is a heartbeat
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> sessionIds;
+        private final Set<LocalDate> dates;
+        private final String clientIp;
+        private final Queue<String> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private volatile boolean closed;
+        /** System.nanoTime() when the write in progress started, 0 when not writing */
+        private volatile long writeStartedAt;
+
+        private Subscriber(SseEmitter emitter, Set<Long> sessionIds, Set<LocalDate> dates, String clientIp) {
+            this.emitter = emitter;
+            this.sessionIds = sessionIds;
+            this.dates = dates;
+            this.clientIp = clientIp;
+        }
+
+        void offer(String json) {
+            if (closed) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueuedEvents) {
+                slowConsumersDropped.increment();
+                log.debug("Dropping seat stream subscriber with {} queued events", maxQueuedEvents);
+                close();
+                return;
+            }
+            outbox.add(json != null ? json : "");
+            scheduleDrain();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            outbox.clear();
+            unsubscribe(this);
+            emitter.complete();
+        }
+
+        boolean markStalled() {
+            return stalled.compareAndSet(false, true);
+        }
+
+        /**
+         * Give up on a blocked write: stop sending and fail the response so the container closes the
+         * connection once the write returns, at the latest after the connector's write timeout
+         */
+        void abort() {
+            closed = true;
+            outbox.clear();
+            unsubscribe(this);
+            emitter.completeWithError(new IOException("Seat stream write timed out"));
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                String json;
+                while (!closed && (json = outbox.poll()) != null) {
+                    queued.decrementAndGet();
+                    writeStartedAt = System.nanoTime();
+                    if (json.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment(""));
+                    } else {
+                        emitter.send(SseEmitter.event().name(SEATS_EVENT).data(json, MediaType.APPLICATION_JSON));
+                    }
+                    writeStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away; the container reports the error and completes the emitter
+                closed = true;
+                outbox.clear();
+                unsubscribe(this);
+            } finally {
+                writeStartedAt = 0;
+                if (stalled.get()) {
+                    // The write this thread was compensated for has returned
+                    resizeSender(stalledSenders.decrementAndGet());
+                }
+                draining.set(false);
+            }
+            if (!closed && !outbox.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.EntityInvalidationMessage;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Keeps the node-local Hibernate second-level caches coherent across instances: committed inserts,
+ * updates and deletes of cached entities are broadcast, and every other node evicts the entity and its
+ * cached query results.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheSync {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MessageProducerService messageProducerService;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Broadcast that a cached entity changed
+     *
+     * @param entity Inserted, updated or removed entity
+     */
+    public void broadcastEviction(Object entity) {
+        Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        if (!(id instanceof Long entityId)) {
+            return;
+        }
+        messageProducerService.publishEntityInvalidation(EntityInvalidationMessage.builder()
+                .originNode(nodeId)
+                .entityName(entityManagerFactory.getMetamodel().entity(entity.getClass()).getName())
+                .entityId(entityId)
+                .build());
+    }
+
+    /**
+     * Evict an entity changed on another node, together with the cached query results that may
+     * reference it
+     *
+     * @param message Invalidation broadcast by any node
+     */
+    public void apply(EntityInvalidationMessage message) {
+        if (nodeId.equals(message.getOriginNode())) {
+            return;
+        }
+        EntityType<?> entityType = entityManagerFactory.getMetamodel().getEntities().stream()
+                .filter(type -> type.getName().equals(message.getEntityName()))
+                .findFirst()
+                .orElse(null);
+        if (entityType == null) {
+            log.warn("Ignoring cache invalidation for unknown entity {}", message.getEntityName());
+            return;
+        }
+        entityManagerFactory.getCache().evict(entityType.getJavaType(), message.getEntityId());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
@@ -0,0 +1,50 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.exception.ResourceNotFoundException;
+import com.clublosamigos.turnero.model.ChangeLogSequence;
+import com.clublosamigos.turnero.repository.ChangeLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Hands out values of the shared counters in {@code change_log_sequence}. Each call runs in its own
+ * short read-write transaction, so it reads the primary and holds the counter row only for the
+ * allocation itself, never for the caller's transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class SequenceAllocator {
+
+    private final ChangeLogRepository changeLogRepository;
+
+    /**
+     * Allocate the next value of a counter
+     *
+     * @param sequenceId Counter row ID
+     * @return Allocated value, greater than every value allocated before
+     * @throws ResourceNotFoundException if the counter row does not exist
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long next(byte sequenceId) {
+        ChangeLogSequence sequence = changeLogRepository.lockSequence(sequenceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sequence not found with id: " + sequenceId));
+        long value = sequence.getLastToken() + 1;
+        sequence.setLastToken(value);
+        return value;
+    }
+
+    /**
+     * Get the last allocated value of a counter, from the primary
+     *
+     * @param sequenceId Counter row ID
+     * @return Last allocated value
+     * @throws ResourceNotFoundException if the counter row does not exist
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long current(byte sequenceId) {
+        return changeLogRepository.findLastValue(sequenceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sequence not found with id: " + sequenceId));
+    }
+}
@@ -0,0 +1,185 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.service.ResourceVersions.ResourceVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized bodies of hot list responses, one per resource version and negotiated format
+ * (JSON, CBOR or Smile). Keys include the ETag, so a change to the data produces a new key and old
+ * entries simply age out of the LRU; nothing has to be invalidated. Bodies are only cached once the
+ * version has settled, because a read right after a change may still come from a lagging replica.
+ */
+@Service
+@RequiredArgsConstructor
+public class SerializedResponseCache {
+
+    private final List<AbstractJackson2HttpMessageConverter> converters;
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${response-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<MediaType, Timer> serializationTimers = new HashMap<>();
+    private final Map<MediaType, DistributionSummary> payloadSizes = new HashMap<>();
+    private AbstractJackson2HttpMessageConverter jsonConverter;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("response.cache.requests")
+                .tag("result", "hit")
+                .description("List responses written from pre-serialized bytes")
+                .register(meterRegistry);
+        misses = Counter.builder("response.cache.requests")
+                .tag("result", "miss")
+                .description("List responses that had to be serialized")
+                .register(meterRegistry);
+        Gauge.builder("response.cache.bytes", this, SerializedResponseCache::size)
+                .description("Bytes of pre-serialized responses held in memory")
+                .register(meterRegistry);
+        for (AbstractJackson2HttpMessageConverter converter : converters) {
+            MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+            if (MediaType.APPLICATION_JSON.equals(mediaType)) {
+                jsonConverter = converter;
+            }
+            serializationTimers.put(mediaType, Timer.builder("api.serialization")
+                    .tag("format", mediaType.getSubtype())
+                    .description("Time to serialize a list response body")
+                    .register(meterRegistry));
+            payloadSizes.put(mediaType, DistributionSummary.builder("api.serialization.bytes")
+                    .tag("format", mediaType.getSubtype())
+                    .baseUnit("bytes")
+                    .description("Size of a serialized list response body")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Answer a list request in the format negotiated from its Accept header, from cached bytes when
+     * the same version was already serialized in that format
+     *
+     * @param request Current request
+     * @param key Identifies the list and its parameters
+     * @param version Version of the data the body is built from
+     * @param body Builds the response body on a miss, on the primary while the version is recent
+     * @return Response with the serialized body
+     */
+    public ResponseEntity<byte[]> respond(NativeWebRequest request, String key, ResourceVersion version,
+                                          Supplier<?> body) {
+        AbstractJackson2HttpMessageConverter converter = negotiate(request);
+        MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+        String cacheKey = key + '|' + mediaType + '|' + version.getEtag();
+
+        byte[] bytes = get(cacheKey);
+        if (bytes != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            bytes = serialize(converter, mediaType, version.read(body));
+            if (version.getLastModified() != -1) {
+                put(cacheKey, bytes);
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(bytes);
+    }
+
+    /**
+     * Format a list response to this request is written in
+     *
+     * @param request Current request
+     * @return JSON, CBOR or Smile media type, negotiated from the Accept header
+     */
+    public MediaType negotiateMediaType(NativeWebRequest request) {
+        return negotiate(request).getSupportedMediaTypes().get(0);
+    }
+
+    /**
+     * First converter that can write a type the client accepts; JSON when it accepts anything
+     */
+    private AbstractJackson2HttpMessageConverter negotiate(NativeWebRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return jsonConverter;
+        }
+        for (MediaType acceptedType : accepted) {
+            if (acceptedType.isWildcardType() || acceptedType.isWildcardSubtype()) {
+                break;
+            }
+            for (AbstractJackson2HttpMessageConverter converter : converters) {
+                if (converter.getSupportedMediaTypes().get(0).isCompatibleWith(acceptedType)) {
+                    return converter;
+                }
+            }
+        }
+        return jsonConverter;
+    }
+
+    private byte[] serialize(AbstractJackson2HttpMessageConverter converter, MediaType mediaType, Object body) {
+        long start = System.nanoTime();
+        byte[] bytes;
+        try {
+            bytes = converter.getObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write " + mediaType + " response", e);
+        }
+        serializationTimers.get(mediaType).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        payloadSizes.get(mediaType).record(bytes.length);
+        return bytes;
+    }
+
+    private synchronized byte[] get(String cacheKey) {
+        return entries.get(cacheKey);
+    }
+
+    private synchronized void put(String cacheKey, byte[] bytes) {
+        if (bytes.length > maxBytes / 4) {
+            return;
+        }
+        byte[] previous = entries.put(cacheKey, bytes);
+        totalBytes += bytes.length - (previous != null ? previous.length : 0);
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private synchronized long size() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,359 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.config.ReplicaRoutingDataSource;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.dto.response.SessionAvailabilityResponse;
+import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.dto.response.UserResponse;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent.CreatedBooking;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.model.TrainingSession;
+import com.clublosamigos.turnero.model.TrainingSession.SessionStatus;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of every non-deleted training session with its participant count, keyed by
+ * date. Loaded once at startup (one session query and one grouped participant count) and kept
+ * current from session and booking change events, and from the changes other nodes broadcast, so
+ * the session lists, upcoming sessions, date ranges and calendar availability are served without
+ * touching the database. Trainers are resolved through the user snapshot cache on every read. Until
+ * the load completes callers should fall back to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionAvailabilitySnapshot {
+
+    private static final int MAX_RANGE_DAYS = 62;
+    private static final int DEFAULT_MAX_PARTICIPANTS = 8;
+
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${availability.snapshot.enabled:true}")
+    private boolean enabled;
+
+    /** Sessions of each date, ordered by start time; lists are replaced, never modified */
+    private final NavigableMap<LocalDate, List<Row>> days = new ConcurrentSkipListMap<>();
+
+    private volatile boolean ready;
+
+    private boolean loading;
+    private final Set<LocalDate> dirtyWhileLoading = new HashSet<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("availability.snapshot.sessions", this, SessionAvailabilitySnapshot::sessionCount)
+                .description("Sessions held in the in-memory availability snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load every non-deleted session from the primary.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Session snapshot disabled, session lists are read from the database");
+            return;
+        }
+        synchronized (this) {
+            loading = true;
+            dirtyWhileLoading.clear();
+        }
+
+        try {
+            Map<LocalDate, List<Row>> loaded = ReplicaRoutingDataSource.readFromPrimary(() -> {
+                List<TrainingSession> sessions = trainingSessionRepository.findByIsDeletedFalseOrderByDateAscStartTimeAsc();
+                return group(sessions, toCounts(trainingSessionRepository.countAllCurrentParticipants()));
+            });
+
+            synchronized (this) {
+                days.clear();
+                days.putAll(loaded);
+                loading = false;
+                dirtyWhileLoading.forEach(this::readDay);
+                dirtyWhileLoading.clear();
+                ready = true;
+            }
+            log.info("Session snapshot loaded: {} sessions over {} days", sessionCount(), days.size());
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                loading = false;
+            }
+            log.error("Session snapshot load failed, session lists will use the database: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * @return true once the snapshot reflects the database and can answer reads
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Get sessions between two dates (inclusive), ordered by date and start time, in the shape of
+     * the regular session responses. Only call once {@link #isReady()}.
+     *
+     * @param startDate Start date, LocalDate.MIN for no lower bound
+     * @param endDate End date, LocalDate.MAX for no upper bound
+     * @param activeOnly Only include ACTIVE sessions
+     * @return List of TrainingSessionResponse
+     */
+    public List<TrainingSessionResponse> getSessions(LocalDate startDate, LocalDate endDate, boolean activeOnly) {
+        Map<Long, UserResponse> trainers = new HashMap<>();
+        List<TrainingSessionResponse> result = new ArrayList<>();
+        for (List<Row> rows : days.subMap(startDate, true, endDate, true).values()) {
+            for (Row row : rows) {
+                if (activeOnly && row.getSession().getStatus() != SessionStatus.ACTIVE) {
+                    continue;
+                }
+                UserResponse trainer = trainers.computeIfAbsent(row.getTrainerId(), userService::getUserById);
+                result.add(row.getSession().toBuilder().trainer(trainer).build());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get availability rows of active sessions for a date range, ordered by date and start time
+     *
+     * @param startDate Start date
+     * @param endDate End date
+     * @return List of SessionAvailabilityResponse
+     * @throws BadRequestException if the range is invalid or too long
+     */
+    public List<SessionAvailabilityResponse> getAvailability(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must be after start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        if (!ready) {
+            List<TrainingSession> sessions = trainingSessionRepository.findActiveWithTrainerBetween(startDate, endDate);
+            Map<Long, Long> participants = countParticipants(sessions);
+            return sessions.stream()
+                    .map(session -> toAvailability(
+                            TrainingSessionService.buildResponse(session, null,
+                                    participants.getOrDefault(session.getId(), 0L).intValue()),
+                            session.getTrainer().getFullName()))
+                    .collect(Collectors.toList());
+        }
+
+        Map<Long, String> trainerNames = new HashMap<>();
+        List<SessionAvailabilityResponse> result = new ArrayList<>();
+        for (List<Row> rows : days.subMap(startDate, true, endDate, true).values()) {
+            for (Row row : rows) {
+                if (row.getSession().getStatus() != SessionStatus.ACTIVE) {
+                    continue;
+                }
+                String trainerName = trainerNames.computeIfAbsent(row.getTrainerId(),
+                        trainerId -> userService.getUserById(trainerId).getFullName());
+                result.add(toAvailability(row.getSession(), trainerName));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reload the affected days. Runs before the resource versions are bumped, so a body built
+     * under the new ETag always includes the change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingSessionChanged(TrainingSessionChangedEvent event) {
+        reloadDay(event.getDate());
+        if (event.getPreviousDate() != null) {
+            reloadDay(event.getPreviousDate());
+        }
+    }
+
+    /**
+     * Apply the participant delta to the cached session, before the resource versions are bumped.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.getParticipantDelta() != 0) {
+            applyParticipantDelta(event.getSessionId(), event.getSessionDate(), event.getParticipantDelta());
+        }
+    }
+
+    /**
+     * Add the bookings created in bulk to their sessions, before the resource versions are bumped.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingsCreatedEvent event) {
+        event.getBookings().stream()
+                .collect(Collectors.groupingBy(CreatedBooking::getSessionId))
+                .forEach((sessionId, bookings) ->
+                        applyParticipantDelta(sessionId, bookings.get(0).getSessionDate(), bookings.size()));
+    }
+
+    /**
+     * Reload the days touched by a change made on another node
+     *
+     * @param message Change broadcast by another node
+     */
+    public void apply(ResourceChangeMessage message) {
+        switch (message.getResourceType()) {
+            case SESSION -> {
+                reloadDay(message.getSessionDate());
+                if (message.getPreviousDate() != null) {
+                    reloadDay(message.getPreviousDate());
+                }
+            }
+            case BOOKING -> {
+                if (!message.isSeatsChanged()) {
+                    return;
+                }
+                if (message.getSessionDates() != null) {
+                    message.getSessionDates().forEach(this::reloadDay);
+                } else {
+                    reloadDay(message.getSessionDate());
+                }
+            }
+            case USER -> {
+                // Trainers are resolved through the user snapshot cache on every read
+            }
+        }
+    }
+
+    public int sessionCount() {
+        return days.values().stream().mapToInt(List::size).sum();
+    }
+
+    private synchronized void applyParticipantDelta(Long sessionId, LocalDate date, int delta) {
+        if (loading) {
+            dirtyWhileLoading.add(date);
+            return;
+        }
+        if (!ready) {
+            return;
+        }
+
+        days.computeIfPresent(date, (day, rows) -> rows.stream()
+                .map(row -> row.getSession().getId().equals(sessionId) ? row.withParticipantDelta(delta) : row)
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    private synchronized void reloadDay(LocalDate date) {
+        if (loading) {
+            dirtyWhileLoading.add(date);
+            return;
+        }
+        if (ready) {
+            readDay(date);
+        }
+    }
+
+    /**
+     * Replace one day from the primary, which already has the change that triggered the reload.
+     * Caller holds the lock.
+     */
+    private void readDay(LocalDate date) {
+        List<Row> rows = ReplicaRoutingDataSource.readFromPrimary(() -> {
+            List<TrainingSession> sessions = trainingSessionRepository.findByDateAndIsDeletedFalseOrderByStartTimeAsc(date);
+            return group(sessions, countParticipants(sessions)).getOrDefault(date, Collections.emptyList());
+        });
+        if (rows.isEmpty()) {
+            days.remove(date);
+        } else {
+            days.put(date, rows);
+        }
+    }
+
+    private Map<Long, Long> countParticipants(List<TrainingSession> sessions) {
+        if (sessions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = sessions.stream().map(TrainingSession::getId).collect(Collectors.toList());
+        return toCounts(trainingSessionRepository.countCurrentParticipantsBySessionIds(ids));
+    }
+
+    private static Map<Long, Long> toCounts(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>(Math.max(16, rows.size() * 2));
+        rows.forEach(row -> counts.put((Long) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    /**
+     * Group sessions already ordered by date and start time into immutable day lists
+     */
+    private static Map<LocalDate, List<Row>> group(List<TrainingSession> sessions, Map<Long, Long> participants) {
+        Map<LocalDate, List<Row>> grouped = new HashMap<>();
+        for (TrainingSession session : sessions) {
+            TrainingSessionResponse response = TrainingSessionService.buildResponse(session, null,
+                    participants.getOrDefault(session.getId(), 0L).intValue());
+            grouped.computeIfAbsent(session.getDate(), date -> new ArrayList<>())
+                    .add(new Row(response, session.getTrainer().getId()));
+        }
+        grouped.replaceAll((date, rows) -> Collections.unmodifiableList(rows));
+        return grouped;
+    }
+
+    private static SessionAvailabilityResponse toAvailability(TrainingSessionResponse session, String trainerName) {
+        int maxParticipants = session.getMaxParticipants() != null ? session.getMaxParticipants() : DEFAULT_MAX_PARTICIPANTS;
+        return SessionAvailabilityResponse.builder()
+                .sessionId(session.getId())
+                .name(session.getName())
+                .date(session.getDate())
+                .startTime(session.getStartTime())
+                .endTime(session.getEndTime())
+                .location(session.getLocation())
+                .trainerName(trainerName)
+                .maxParticipants(maxParticipants)
+                .seatsLeft(maxParticipants - session.getCurrentParticipants())
+                .build();
+    }
+
+    /**
+     * Cached session without its trainer, which is resolved on read
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class Row {
+        private final TrainingSessionResponse session;
+        private final Long trainerId;
+
+        Row withParticipantDelta(int delta) {
+            return new Row(session.toBuilder().currentParticipants(session.getCurrentParticipants() + delta).build(),
+                    trainerId);
+        }
+    }
+}
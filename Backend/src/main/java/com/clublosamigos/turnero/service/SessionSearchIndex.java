@@ -0,0 +1,482 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.event.UserChangedEvent;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted n-gram index over session name, location and trainer name.
+ * Text is lower-cased and accent-folded ("Martínez" matches "martinez"); every word contributes
+ * its trigrams plus its one- and two-letter prefixes, so short terms match word starts and longer
+ * terms match anywhere. Results are ranked by field weight with bonuses for prefix and whole-word
+ * matches. Loaded at startup and updated incrementally from session changes and trainer renames,
+ * made on this node or broadcast by another one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int MAX_RESULTS = 200;
+    private static final String PREFIX_MARK = "^";
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int TRAINER_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 1;
+
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedSession> documents = new HashMap<>();
+
+    private volatile boolean ready;
+    private boolean loading;
+    private final Set<Long> dirtyWhileLoading = new HashSet<>();
+    private final Set<Long> dirtyTrainersWhileLoading = new HashSet<>();
+    private Timer searchTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        searchTimer = Timer.builder("search.index.query")
+                .description("Latency of in-process session searches")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("search.index.documents", this, SessionSearchIndex::documentCount)
+                .description("Sessions held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", this, SessionSearchIndex::termCount)
+                .description("Distinct n-grams held in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Index every non-deleted session with a single scalar query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            loading = true;
+            dirtyWhileLoading.clear();
+            dirtyTrainersWhileLoading.clear();
+        }
+
+        try {
+            List<Object[]> rows = trainingSessionRepository.findSearchRows();
+
+            Set<Long> dirty;
+            Set<Long> dirtyTrainers;
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                rows.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            synchronized (this) {
+                loading = false;
+                dirty = new HashSet<>(dirtyWhileLoading);
+                dirtyWhileLoading.clear();
+                dirtyTrainers = new HashSet<>(dirtyTrainersWhileLoading);
+                dirtyTrainersWhileLoading.clear();
+            }
+            dirty.forEach(this::reindex);
+            dirtyTrainers.forEach(this::reindexTrainer);
+            ready = true;
+
+            log.info("Search index loaded: {} sessions, {} terms", documentCount(), termCount());
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                loading = false;
+            }
+            log.error("Search index load failed, searches will use the database: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * @return true once the index reflects the database and can answer searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Search sessions matching every word of the term.
+     *
+     * @param term Free text search term
+     * @return Matching session ids, best match first
+     */
+    public List<Long> search(String term) {
+        return searchTimer.record(() -> rank(fold(term)));
+    }
+
+    /**
+     * Re-index the changed session, or drop it when deleted. Runs before the resource versions are
+     * bumped, so search results cached under the new ETag include the change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrainingSessionChanged(TrainingSessionChangedEvent event) {
+        sessionChanged(event.getSessionId());
+    }
+
+    /**
+     * Re-index the sessions of a user whose name may have changed; nothing for non-trainers.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() == UserChangedEvent.ChangeType.PROFILE_UPDATED) {
+            trainerChanged(event.getUserId());
+        }
+    }
+
+    /**
+     * Apply a session change or user profile change made on another node
+     *
+     * @param message Change broadcast by another node
+     */
+    public void apply(ResourceChangeMessage message) {
+        switch (message.getResourceType()) {
+            case SESSION -> sessionChanged(message.getSessionId());
+            case USER -> trainerChanged(message.getUserId());
+            case BOOKING -> {
+                // Bookings are not searchable
+            }
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void sessionChanged(Long sessionId) {
+        synchronized (this) {
+            if (loading) {
+                dirtyWhileLoading.add(sessionId);
+                return;
+            }
+        }
+        reindex(sessionId);
+    }
+
+    private void trainerChanged(Long trainerId) {
+        synchronized (this) {
+            if (loading) {
+                dirtyTrainersWhileLoading.add(trainerId);
+                return;
+            }
+        }
+        reindexTrainer(trainerId);
+    }
+
+    private void reindexTrainer(Long trainerId) {
+        List<Object[]> rows = trainingSessionRepository.findSearchRowsByTrainerId(trainerId);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rows.forEach(row -> {
+                remove((Long) row[0]);
+                add(row);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reindex(Long sessionId) {
+        List<Object[]> rows = trainingSessionRepository.findSearchRowById(sessionId);
+
+        lock.writeLock().lock();
+        try {
+            remove(sessionId);
+            rows.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> rank(String foldedTerm) {
+        List<String> tokens = words(foldedTerm);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String token : tokens) {
+                long[] matches = candidatesFor(token);
+                candidates = candidates == null ? matches : intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return new ArrayList<>();
+                }
+            }
+
+            List<long[]> scored = new ArrayList<>();
+            for (long sessionId : candidates) {
+                IndexedSession document = documents.get(sessionId);
+                int score = 0;
+                for (String token : tokens) {
+                    int tokenScore = document.score(token);
+                    if (tokenScore == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += tokenScore;
+                }
+                if (score > 0) {
+                    scored.add(new long[]{sessionId, score});
+                }
+            }
+
+            scored.sort(Comparator.<long[]>comparingLong(entry -> -entry[1]).thenComparingLong(entry -> entry[0]));
+            List<Long> result = new ArrayList<>(Math.min(scored.size(), MAX_RESULTS));
+            for (int i = 0; i < scored.size() && i < MAX_RESULTS; i++) {
+                result.add(scored.get(i)[0]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersect the postings of every key of the token, smallest list first.
+     */
+    private long[] candidatesFor(String token) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String key : queryKeys(token)) {
+            PostingList list = postings.get(key);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i).toArray());
+        }
+        return result;
+    }
+
+    private void add(Object[] row) {
+        IndexedSession document = new IndexedSession(
+                (Long) row[0], fold((String) row[1]), fold((String) row[2]), fold((String) row[3]));
+        documents.put(document.sessionId, document);
+        for (String key : document.keys()) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(document.sessionId);
+        }
+    }
+
+    private void remove(Long sessionId) {
+        IndexedSession document = documents.remove(sessionId);
+        if (document == null) {
+            return;
+        }
+        for (String key : document.keys()) {
+            PostingList list = postings.get(key);
+            if (list != null && list.remove(sessionId) && list.size() == 0) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> queryKeys(String token) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (token.length() < GRAM) {
+            keys.add(PREFIX_MARK + token);
+            return keys;
+        }
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            keys.add(token.substring(i, i + GRAM));
+        }
+        return keys;
+    }
+
+    private static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> words(String foldedText) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(foldedText)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Folded searchable fields of one session
+     */
+    private static final class IndexedSession {
+
+        private final Long sessionId;
+        private final String name;
+        private final String location;
+        private final String trainer;
+
+        private IndexedSession(Long sessionId, String name, String location, String trainer) {
+            this.sessionId = sessionId;
+            this.name = name;
+            this.location = location;
+            this.trainer = trainer;
+        }
+
+        Set<String> keys() {
+            Set<String> keys = new HashSet<>();
+            for (String field : new String[]{name, location, trainer}) {
+                for (String word : words(field)) {
+                    keys.add(PREFIX_MARK + word.substring(0, 1));
+                    if (word.length() >= 2) {
+                        keys.add(PREFIX_MARK + word.substring(0, 2));
+                    }
+                    for (int i = 0; i + GRAM <= word.length(); i++) {
+                        keys.add(word.substring(i, i + GRAM));
+                    }
+                }
+            }
+            return keys;
+        }
+
+        int score(String token) {
+            return fieldScore(name, token, NAME_WEIGHT)
+                    + fieldScore(trainer, token, TRAINER_WEIGHT)
+                    + fieldScore(location, token, LOCATION_WEIGHT);
+        }
+
+        private static int fieldScore(String field, String token, int weight) {
+            if (!field.contains(token)) {
+                return 0;
+            }
+            int score = weight;
+            for (String word : words(field)) {
+                if (word.equals(token)) {
+                    return score + 2 * weight;
+                }
+                if (word.startsWith(token)) {
+                    score = 2 * weight;
+                }
+            }
+            return score;
+        }
+    }
+
+    /**
+     * Sorted, growable array of session ids
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
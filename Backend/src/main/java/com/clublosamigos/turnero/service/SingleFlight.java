@@ -0,0 +1,157 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.config.ReadYourWritesTracker;
+import com.clublosamigos.turnero.service.ResourceVersions.ResourceVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Request coalescing for hot read endpoints. Concurrent requests with the same normalized URL, the
+ * same caller roles and the same resource version share one computation: the first runs it, the
+ * others wait for its result. With a sharing window the result is also handed to identical requests
+ * arriving shortly after it completed.
+ * <p>
+ * The resource version is part of the key, so a request never gets a result computed before a change
+ * its ETag already reflects. Callers pinned to the primary after a write compute their own result.
+ */
+@Service
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${single-flight.enabled:true}")
+    private boolean enabled;
+
+    @Value("${single-flight.share-window-ms:0}")
+    private long shareWindowMillis;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Run a read, or join an identical one already in flight
+     *
+     * @param name Endpoint name, used as a metric tag
+     * @param request Current request; its path and parameters identify the read
+     * @param version Version of the data the read returns
+     * @param loader Computes the result, on the primary while the version is recent
+     * @return Result, possibly shared with concurrent identical requests; callers must not modify it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, WebRequest request, ResourceVersion version, Supplier<T> loader) {
+        ReadYourWritesTracker tracker = readYourWritesTracker.getIfAvailable();
+        if (!enabled || (tracker != null && tracker.isPinnedToPrimary())) {
+            counter(name, "bypassed").increment();
+            return version.read(loader);
+        }
+
+        String key = key(name, request, version);
+        Flight flight = new Flight();
+        while (true) {
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.isExpired()) {
+                counter(name, existing.future.isDone() ? "shared" : "collapsed").increment();
+                return (T) join(existing);
+            }
+            if (flights.replace(key, existing, flight)) {
+                break;
+            }
+        }
+
+        counter(name, "executed").increment();
+        try {
+            T result = version.read(loader);
+            flight.complete(result, shareWindowMillis);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (shareWindowMillis <= 0 || flight.future.isCompletedExceptionally()) {
+                flights.remove(key, flight);
+            }
+        }
+    }
+
+    /**
+     * Drop results whose sharing window has passed
+     */
+    @Scheduled(fixedDelayString = "${single-flight.cleanup-interval-ms:10000}")
+    public void evictExpired() {
+        flights.values().removeIf(Flight::isExpired);
+    }
+
+    private Counter counter(String name, String result) {
+        return counters.computeIfAbsent(name + '|' + result, key -> Counter.builder("single.flight.requests")
+                .tag("endpoint", name)
+                .tag("result", result)
+                .description("Coalesced reads: executed, collapsed into an in-flight read, shared after it, or bypassed")
+                .register(meterRegistry));
+    }
+
+    private static Object join(Flight flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Endpoint, version, path, parameters sorted by name and sorted caller roles
+     */
+    private static String key(String name, WebRequest request, ResourceVersion version) {
+        StringBuilder key = new StringBuilder(name).append('|').append(version.getEtag()).append('|');
+        key.append(request.getDescription(false));
+        new TreeMap<>(request.getParameterMap()).forEach((param, values) ->
+                key.append('|').append(param).append('=').append(String.join(",", values)));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            key.append('|').append(authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .collect(Collectors.joining(",")));
+        }
+        return key.toString();
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        void complete(Object result, long shareWindowMillis) {
+            expiresAt = System.currentTimeMillis() + shareWindowMillis;
+            future.complete(result);
+        }
+
+        boolean isExpired() {
+            return future.isCompletedExceptionally() || System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -2,14 +2,21 @@ package com.clublosamigos.turnero.service;
 
 import com.clublosamigos.turnero.dto.request.SlotConfigRequest;
 import com.clublosamigos.turnero.dto.request.SlotGenerationRequest;
-import com.clublosamigos.turnero.dto.request.TrainingSessionRequest;
+import com.clublosamigos.turnero.dto.response.SlotGenerationPreviewResponse;
+import com.clublosamigos.turnero.dto.response.SlotGenerationPreviewResponse.ConflictType;
+import com.clublosamigos.turnero.dto.response.SlotGenerationPreviewResponse.DateConflict;
 import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.event.TrainingSessionsGeneratedEvent;
 import com.clublosamigos.turnero.exception.BadRequestException;
 import com.clublosamigos.turnero.exception.ResourceNotFoundException;
+import com.clublosamigos.turnero.model.Holiday;
 import com.clublosamigos.turnero.model.SlotConfiguration;
 import com.clublosamigos.turnero.model.SlotConfiguration.RecurrenceType;
+import com.clublosamigos.turnero.repository.HolidayRepository;
 import com.clublosamigos.turnero.repository.SlotConfigurationRepository;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +25,10 @@ import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for slot configuration management operations
@@ -29,6 +39,9 @@ public class SlotConfigurationService {
 
     private final SlotConfigurationRepository slotConfigurationRepository;
     private final TrainingSessionService trainingSessionService;
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final HolidayRepository holidayRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new slot configuration
@@ -125,39 +138,127 @@ public class SlotConfigurationService {
 
     /**
      * Generate training sessions based on slot configuration recurrence.
+     * Dates reported as conflicting by {@link #previewTrainingSessions} are skipped. Subscribers of
+     * the configuration are booked into the new sessions once they are committed.
      */
     @Transactional
     public List<TrainingSessionResponse> generateTrainingSessions(Long slotConfigId, SlotGenerationRequest templateRequest) {
+        SlotConfiguration slotConfiguration = getGenerableSlotConfiguration(slotConfigId);
+        SlotGenerationPreviewResponse plan = buildGenerationPlan(slotConfiguration, templateRequest);
+
+        if (plan.getAvailableDates().isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<TrainingSessionResponse> sessions = trainingSessionService.createGeneratedTrainingSessions(
+                slotConfiguration, templateRequest, plan.getAvailableDates());
+        eventPublisher.publishEvent(TrainingSessionsGeneratedEvent.builder()
+                .slotConfigurationId(slotConfiguration.getId())
+                .sessionIds(sessions.stream().map(TrainingSessionResponse::getId).collect(Collectors.toList()))
+                .build());
+        return sessions;
+    }
+
+    /**
+     * Dry-run a generation: list the candidate dates and the ones that would collide with
+     * existing sessions of the same trainer or location, with holidays, or fall in the past.
+     *
+     * @param slotConfigId Slot configuration ID
+     * @param templateRequest Template for training sessions
+     * @return SlotGenerationPreviewResponse
+     * @throws ResourceNotFoundException if configuration not found
+     * @throws BadRequestException if the configuration or template is invalid
+     */
+    @Transactional(readOnly = true)
+    public SlotGenerationPreviewResponse previewTrainingSessions(Long slotConfigId, SlotGenerationRequest templateRequest) {
+        SlotConfiguration slotConfiguration = getGenerableSlotConfiguration(slotConfigId);
+        return buildGenerationPlan(slotConfiguration, templateRequest);
+    }
+
+    private SlotConfiguration getGenerableSlotConfiguration(Long slotConfigId) {
         SlotConfiguration slotConfiguration = slotConfigurationRepository.findByIdAndIsDeletedFalse(slotConfigId)
                 .orElseThrow(() -> new ResourceNotFoundException("Slot configuration not found with id: " + slotConfigId));
 
         if (slotConfiguration.getStartDate().isAfter(slotConfiguration.getEndDate())) {
             throw new BadRequestException("Slot configuration dates are invalid");
         }
+        return slotConfiguration;
+    }
 
-        List<LocalDate> dates = computeDates(slotConfiguration);
-        List<TrainingSessionResponse> createdSessions = new ArrayList<>();
+    /**
+     * Match every candidate date against the whole range at once: one query for the trainer's
+     * sessions, one for the location's sessions and one for holidays, joined in memory through
+     * a per-day {@link ScheduleIndex}.
+     */
+    private SlotGenerationPreviewResponse buildGenerationPlan(SlotConfiguration slotConfiguration, SlotGenerationRequest template) {
+        if (!template.getEndTime().isAfter(template.getStartTime())) {
+            throw new BadRequestException("End time must be after start time");
+        }
 
-        for (LocalDate date : dates) {
-            TrainingSessionRequest sessionRequest = TrainingSessionRequest.builder()
-                    .name(templateRequest.getName())
-                    .description(templateRequest.getDescription())
-                    .trainerId(templateRequest.getTrainerId())
-                    .date(date)
-                    .startTime(templateRequest.getStartTime())
-                    .endTime(templateRequest.getEndTime())
-                    .location(templateRequest.getLocation())
-                    .maxParticipants(templateRequest.getMaxParticipants())
-                    .slotConfigId(slotConfigId)
-                    .build();
-            try {
-                createdSessions.add(trainingSessionService.createTrainingSession(sessionRequest));
-            } catch (BadRequestException ex) {
-                // Skip conflicting sessions but continue generating others
+        LocalDate from = slotConfiguration.getStartDate();
+        LocalDate to = slotConfiguration.getEndDate();
+        List<LocalDate> candidates = computeDates(slotConfiguration);
+
+        ScheduleIndex schedule = ScheduleIndex.of(
+                trainingSessionRepository.findScheduledByTrainerInRange(template.getTrainerId(), from, to),
+                trainingSessionRepository.findScheduledByLocationInRange(template.getLocation(), from, to));
+        Map<LocalDate, Holiday> holidays = holidayRepository.findByDateBetween(from, to).stream()
+                .collect(Collectors.toMap(Holiday::getDate, Function.identity()));
+
+        LocalDate today = LocalDate.now();
+        List<LocalDate> availableDates = new ArrayList<>();
+        List<DateConflict> conflicts = new ArrayList<>();
+
+        for (LocalDate date : candidates) {
+            int conflictsBefore = conflicts.size();
+
+            if (date.isBefore(today)) {
+                conflicts.add(DateConflict.builder()
+                        .date(date)
+                        .type(ConflictType.PAST_DATE)
+                        .description("Date cannot be in the past")
+                        .build());
+            }
+
+            Holiday holiday = holidays.get(date);
+            if (holiday != null) {
+                conflicts.add(DateConflict.builder()
+                        .date(date)
+                        .type(ConflictType.HOLIDAY)
+                        .description(holiday.getName())
+                        .build());
+            }
+
+            addOverlaps(conflicts, date, ConflictType.TRAINER_BUSY, schedule.trainerOverlaps(
+                    template.getTrainerId(), date, template.getStartTime(), template.getEndTime()));
+            addOverlaps(conflicts, date, ConflictType.LOCATION_BUSY, schedule.locationOverlaps(
+                    template.getLocation(), date, template.getStartTime(), template.getEndTime()));
+
+            if (conflicts.size() == conflictsBefore) {
+                availableDates.add(date);
             }
         }
 
-        return createdSessions;
+        return SlotGenerationPreviewResponse.builder()
+                .slotConfigurationId(slotConfiguration.getId())
+                .totalCandidates(candidates.size())
+                .conflictingDates(candidates.size() - availableDates.size())
+                .availableDates(availableDates)
+                .conflicts(conflicts)
+                .build();
+    }
+
+    private void addOverlaps(List<DateConflict> conflicts, LocalDate date, ConflictType type,
+                             List<ScheduleIndex.Interval> overlaps) {
+        for (ScheduleIndex.Interval existing : overlaps) {
+            conflicts.add(DateConflict.builder()
+                    .date(date)
+                    .type(type)
+                    .conflictingSessionId(existing.getSessionId())
+                    .conflictingSessionName(existing.getSessionName())
+                    .startTime(existing.getStartTime())
+                    .endTime(existing.getEndTime())
+                    .build());
+        }
     }
 
     private List<LocalDate> computeDates(SlotConfiguration slotConfiguration) {
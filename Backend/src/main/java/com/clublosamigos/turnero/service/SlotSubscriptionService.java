@@ -0,0 +1,147 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.response.SlotSubscriptionResponse;
+import com.clublosamigos.turnero.event.TrainingSessionsGeneratedEvent;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.exception.ResourceNotFoundException;
+import com.clublosamigos.turnero.model.SlotConfiguration;
+import com.clublosamigos.turnero.model.SlotSubscription;
+import com.clublosamigos.turnero.model.TrainingSession;
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.repository.SlotSubscriptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service for slot subscriptions: members subscribed to a slot configuration are booked into the
+ * sessions generated from it
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotSubscriptionService {
+
+    private final SlotSubscriptionRepository slotSubscriptionRepository;
+    private final SlotConfigurationService slotConfigurationService;
+    private final TrainingSessionService trainingSessionService;
+    private final BookingService bookingService;
+    private final UserService userService;
+
+    /**
+     * Subscribe a user to a slot configuration
+     *
+     * @param userId User ID
+     * @param slotConfigId Slot configuration ID
+     * @return SlotSubscriptionResponse
+     * @throws ResourceNotFoundException if user or slot configuration not found
+     * @throws BadRequestException if the user is already subscribed
+     */
+    @Transactional
+    public SlotSubscriptionResponse subscribe(Long userId, Long slotConfigId) {
+        User user = userService.getUserEntityById(userId);
+        SlotConfiguration slotConfiguration = slotConfigurationService.getSlotConfigurationById(slotConfigId);
+
+        SlotSubscription subscription = slotSubscriptionRepository.findByUserIdAndSlotConfigurationId(userId, slotConfigId)
+                .orElse(null);
+        if (subscription == null) {
+            subscription = SlotSubscription.builder()
+                    .user(user)
+                    .slotConfiguration(slotConfiguration)
+                    .isDeleted(false)
+                    .build();
+        } else if (!Boolean.TRUE.equals(subscription.getIsDeleted())) {
+            throw new BadRequestException("You are already subscribed to this slot configuration");
+        } else {
+            subscription.setIsDeleted(false);
+        }
+
+        return convertToResponse(slotSubscriptionRepository.save(subscription));
+    }
+
+    /**
+     * Cancel a user's subscription to a slot configuration; existing bookings are kept
+     *
+     * @param userId User ID
+     * @param slotConfigId Slot configuration ID
+     * @throws ResourceNotFoundException if the user is not subscribed
+     */
+    @Transactional
+    public void unsubscribe(Long userId, Long slotConfigId) {
+        SlotSubscription subscription = slotSubscriptionRepository.findByUserIdAndSlotConfigurationId(userId, slotConfigId)
+                .filter(existing -> !Boolean.TRUE.equals(existing.getIsDeleted()))
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found for slot configuration: " + slotConfigId));
+        subscription.setIsDeleted(true);
+        slotSubscriptionRepository.save(subscription);
+    }
+
+    /**
+     * Get a user's active subscriptions
+     *
+     * @param userId User ID
+     * @return List of SlotSubscriptionResponse
+     */
+    @Transactional(readOnly = true)
+    public List<SlotSubscriptionResponse> getSubscriptionsByUser(Long userId) {
+        return slotSubscriptionRepository.findActiveByUser(userId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Book subscribers into freshly generated sessions, as one stage after the generation commits:
+     * one query for the subscriptions, the bulk booking of {@link BookingService#bookSubscribers} and
+     * one update of the served subscriptions. Subscribers served least recently go first, so seats
+     * rotate between generations as well as between the sessions of one generation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSessionsGenerated(TrainingSessionsGeneratedEvent event) {
+        if (event.getSessionIds().isEmpty()) {
+            return;
+        }
+        List<SlotSubscription> subscriptions =
+                slotSubscriptionRepository.findActiveBySlotConfigurationInServiceOrder(event.getSlotConfigurationId());
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SlotConfiguration slotConfiguration = slotConfigurationService.getSlotConfigurationById(event.getSlotConfigurationId());
+        List<TrainingSession> sessions = trainingSessionService.getTrainingSessionEntitiesByIds(event.getSessionIds());
+        List<User> subscribers = subscriptions.stream().map(SlotSubscription::getUser).collect(Collectors.toList());
+
+        Map<Long, List<TrainingSession>> booked = bookingService.bookSubscribers(slotConfiguration, sessions, subscribers);
+        if (!booked.isEmpty()) {
+            slotSubscriptionRepository.markBooked(slotConfiguration.getId(), booked.keySet(), LocalDateTime.now());
+        }
+
+        log.info("Auto-booked {} of {} subscribers of slot configuration {} into {} sessions in {} ms",
+                booked.size(), subscribers.size(), slotConfiguration.getId(), sessions.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Convert SlotSubscription entity to SlotSubscriptionResponse DTO
+     *
+     * @param subscription SlotSubscription entity
+     * @return SlotSubscriptionResponse DTO
+     */
+    private SlotSubscriptionResponse convertToResponse(SlotSubscription subscription) {
+        return SlotSubscriptionResponse.builder()
+                .id(subscription.getId())
+                .slotConfigurationId(subscription.getSlotConfiguration().getId())
+                .slotConfigurationName(subscription.getSlotConfiguration().getName())
+                .lastBookedAt(subscription.getLastBookedAt())
+                .createdAt(subscription.getCreatedAt())
+                .build();
+    }
+}
@@ -1,23 +1,43 @@
 package com.clublosamigos.turnero.service;
 
+import com.clublosamigos.turnero.dto.request.SlotGenerationRequest;
 import com.clublosamigos.turnero.dto.request.TrainingSessionRequest;
+import com.clublosamigos.turnero.dto.response.BatchItemResponse;
+import com.clublosamigos.turnero.dto.response.CompactListResponse;
+import com.clublosamigos.turnero.dto.response.CompactListResponse.TrainerSummary;
+import com.clublosamigos.turnero.dto.response.SessionSummaryResponse;
 import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.dto.response.UserResponse;
+import com.clublosamigos.turnero.event.SessionBookingsCancelledEvent;
+import com.clublosamigos.turnero.event.SessionBookingsCancelledEvent.CancelledBooking;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent.ChangeType;
 import com.clublosamigos.turnero.exception.BadRequestException;
 import com.clublosamigos.turnero.exception.ResourceNotFoundException;
+import com.clublosamigos.turnero.model.Booking;
 import com.clublosamigos.turnero.model.TrainingSession;
 import com.clublosamigos.turnero.model.TrainingSession.SessionStatus;
 import com.clublosamigos.turnero.model.SlotConfiguration;
 import com.clublosamigos.turnero.model.User;
 import com.clublosamigos.turnero.service.NotificationService;
+import com.clublosamigos.turnero.repository.BookingRepository;
 import com.clublosamigos.turnero.repository.SlotConfigurationRepository;
 import com.clublosamigos.turnero.repository.TrainingSessionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,9 +48,15 @@ import java.util.stream.Collectors;
 public class TrainingSessionService {
 
     private final TrainingSessionRepository trainingSessionRepository;
+    private final BookingRepository bookingRepository;
     private final SlotConfigurationRepository slotConfigurationRepository;
     private final NotificationService notificationService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionSearchIndex searchIndex;
+
+    @Value("${batch.max-ids:100}")
+    private int maxBatchIds;
 
     /**
      * Create a new training session
@@ -50,6 +76,8 @@ public class TrainingSessionService {
         }
 
         validateSchedule(request.getDate(), request.getStartTime(), request.getEndTime());
+        validateAvailability(trainer.getId(), request.getLocation(), request.getDate(),
+                request.getStartTime(), request.getEndTime(), null);
 
         SlotConfiguration slotConfiguration = resolveSlotConfiguration(request.getSlotConfigId());
 
@@ -69,6 +97,7 @@ public class TrainingSessionService {
 
         session = trainingSessionRepository.save(session);
         notificationService.sendSessionModified(session);
+        publishChange(session, null, ChangeType.CREATED);
         return convertToResponse(session);
     }
 
@@ -86,6 +115,8 @@ public class TrainingSessionService {
         TrainingSession session = trainingSessionRepository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Training session not found with id: " + id));
 
+        LocalDate previousDate = session.getDate();
+
         // Validate trainer if changed
         if (request.getTrainerId() != null && !request.getTrainerId().equals(session.getTrainer().getId())) {
             User trainer = userService.getUserEntityById(request.getTrainerId());
@@ -96,6 +127,8 @@ public class TrainingSessionService {
         }
 
         validateSchedule(request.getDate(), request.getStartTime(), request.getEndTime());
+        validateAvailability(session.getTrainer().getId(), request.getLocation(), request.getDate(),
+                request.getStartTime(), request.getEndTime(), session.getId());
 
         SlotConfiguration slotConfiguration = resolveSlotConfiguration(request.getSlotConfigId());
 
@@ -111,9 +144,60 @@ public class TrainingSessionService {
 
         session = trainingSessionRepository.save(session);
         notificationService.sendSessionModified(session);
+        publishChange(session, previousDate.equals(session.getDate()) ? null : previousDate, ChangeType.UPDATED);
         return convertToResponse(session);
     }
 
+    /**
+     * Create the sessions of a slot configuration generation in one batch.
+     * The caller is responsible for having filtered the dates against trainer and location
+     * availability (see {@link ScheduleIndex}); no per-row overlap query is issued here.
+     *
+     * @param slotConfiguration Slot configuration the sessions belong to
+     * @param template Template for training sessions
+     * @param dates Dates to create a session on
+     * @return List of created TrainingSessionResponse
+     * @throws ResourceNotFoundException if trainer not found
+     * @throws BadRequestException if the trainer cannot run sessions
+     */
+    @Transactional
+    public List<TrainingSessionResponse> createGeneratedTrainingSessions(SlotConfiguration slotConfiguration,
+                                                                         SlotGenerationRequest template,
+                                                                         List<LocalDate> dates) {
+        User trainer = userService.getUserEntityById(template.getTrainerId());
+
+        if (trainer.getRole() != User.UserRole.ENTRENADOR && trainer.getRole() != User.UserRole.SUPER_ADMIN) {
+            throw new BadRequestException("Only trainers can create training sessions");
+        }
+
+        List<TrainingSession> sessions = dates.stream()
+                .map(date -> TrainingSession.builder()
+                        .name(template.getName())
+                        .description(template.getDescription())
+                        .trainer(trainer)
+                        .date(date)
+                        .startTime(template.getStartTime())
+                        .endTime(template.getEndTime())
+                        .location(template.getLocation())
+                        .maxParticipants(template.getMaxParticipants())
+                        .slotConfiguration(slotConfiguration)
+                        .status(SessionStatus.ACTIVE)
+                        .isDeleted(false)
+                        .build())
+                .collect(Collectors.toList());
+
+        sessions = trainingSessionRepository.saveAll(sessions);
+        sessions.forEach(session -> {
+            notificationService.sendSessionModified(session);
+            publishChange(session, null, ChangeType.CREATED);
+        });
+
+        UserResponse trainerResponse = userService.getUserById(trainer.getId());
+        return sessions.stream()
+                .map(session -> buildResponse(session, trainerResponse, 0))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get all training sessions
      *
@@ -141,15 +225,83 @@ public class TrainingSessionService {
     }
 
     /**
-     * Search training sessions by term
+     * Search training sessions by term, best match first
      */
     @Transactional(readOnly = true)
     public List<TrainingSessionResponse> searchTrainingSessions(String term) {
+        if (searchIndex.isReady()) {
+            return convertToResponses(searchIndex.search(term));
+        }
         return trainingSessionRepository.searchTrainingSessions(term).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get non-deleted training sessions by ID, keeping the given order
+     *
+     * @param ids Training session IDs
+     * @return List of TrainingSessionResponse; deleted or unknown IDs are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<TrainingSessionResponse> getTrainingSessionsByIds(List<Long> ids) {
+        return convertToResponses(ids);
+    }
+
+    /**
+     * Get many training sessions in one call: one query for the sessions and one grouped participant count
+     *
+     * @param ids Training session IDs, at most batch.max-ids
+     * @return One entry per requested ID in request order, marked not found for deleted or unknown IDs
+     * @throws BadRequestException if no ids or too many ids are given
+     */
+    @Transactional(readOnly = true)
+    public List<BatchItemResponse<TrainingSessionResponse>> getTrainingSessionBatch(List<Long> ids) {
+        List<Long> distinctIds = Batches.distinctIds(ids, maxBatchIds);
+        return Batches.assemble(ids, convertToResponses(distinctIds), TrainingSessionResponse::getId);
+    }
+
+    /**
+     * Get the compact list view of sessions: no description, trainers side-loaded once
+     *
+     * @param startDate Start date, or null for no lower bound
+     * @param endDate End date, or null for no upper bound
+     * @param activeOnly Only return active sessions
+     * @param fields Comma-separated sparse fieldset, or null for every field
+     * @return CompactListResponse of SessionSummaryResponse
+     * @throws BadRequestException if a requested field is unknown
+     */
+    @Transactional(readOnly = true)
+    public CompactListResponse<SessionSummaryResponse> getTrainingSessionSummaries(LocalDate startDate, LocalDate endDate,
+                                                                                  boolean activeOnly, String fields) {
+        Set<String> fieldset = Fieldsets.parse(fields, SessionSummaryResponse.FIELDS);
+        List<SessionSummaryResponse> sessions = trainingSessionRepository.findSummaries(startDate, endDate, activeOnly);
+        CompactListResponse<SessionSummaryResponse> response = CompactListResponse.<SessionSummaryResponse>builder()
+                .data(sessions)
+                .build();
+        if (fieldset == null || fieldset.contains("trainerId")) {
+            includeTrainers(sessions, response.getIncluded());
+        }
+        sessions.forEach(session -> session.retainFields(fieldset));
+        return response;
+    }
+
+    /**
+     * Side-load sessions, and their trainers, into a compact list view
+     *
+     * @param sessionIds Training session IDs referenced by the list
+     * @param included Side-loaded objects of the list
+     */
+    @Transactional(readOnly = true)
+    public void includeSessions(Collection<Long> sessionIds, CompactListResponse.Included included) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        List<SessionSummaryResponse> sessions = trainingSessionRepository.findSummariesByIds(sessionIds);
+        sessions.forEach(session -> included.getSessions().put(session.getId(), session));
+        includeTrainers(sessions, included);
+    }
+
     /**
      * Get training session entity by ID (for internal use)
      *
@@ -163,6 +315,62 @@ public class TrainingSessionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Training session not found with id: " + id));
     }
 
+    /**
+     * Get training session entity by ID, locked shared until the current transaction ends so it
+     * cannot be cancelled or deleted while it is being booked (for internal use)
+     *
+     * @param id Training session ID
+     * @return TrainingSession entity
+     * @throws ResourceNotFoundException if session not found
+     */
+    @Transactional
+    public TrainingSession getTrainingSessionEntityForBooking(Long id) {
+        return trainingSessionRepository.lockSharedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Training session not found with id: " + id));
+    }
+
+    /**
+     * Get non-deleted training session entities by ID (for internal use)
+     *
+     * @param ids Training session IDs
+     * @return TrainingSession entities, in no particular order; deleted or unknown IDs are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<TrainingSession> getTrainingSessionEntitiesByIds(Collection<Long> ids) {
+        return trainingSessionRepository.findAllById(ids).stream()
+                .filter(session -> !Boolean.TRUE.equals(session.getIsDeleted()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get non-deleted training session entities of a date range in calendar order (for internal use)
+     *
+     * @param startDate Start date
+     * @param endDate End date
+     * @return TrainingSession entities
+     */
+    @Transactional(readOnly = true)
+    public List<TrainingSession> getTrainingSessionEntitiesBetween(LocalDate startDate, LocalDate endDate) {
+        return trainingSessionRepository.findByDateBetweenAndIsDeletedFalse(startDate, endDate).stream()
+                .sorted(Comparator.comparing(TrainingSession::getDate).thenComparing(TrainingSession::getStartTime))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get non-deleted training session entities generated from a slot configuration in a date range,
+     * in calendar order, locked shared until the current transaction ends (for booking them)
+     *
+     * @param slotConfigId Slot configuration ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return TrainingSession entities
+     */
+    @Transactional
+    public List<TrainingSession> getTrainingSessionEntitiesOfSlotConfiguration(Long slotConfigId, LocalDate startDate,
+                                                                               LocalDate endDate) {
+        return trainingSessionRepository.findBySlotConfigurationBetween(slotConfigId, startDate, endDate);
+    }
+
     /**
      * Get training sessions by trainer ID
      *
@@ -216,7 +424,7 @@ public class TrainingSessionService {
     }
 
     /**
-     * Cancel a training session
+     * Cancel a training session and its confirmed bookings
      *
      * @param id Training session ID
      * @return Updated TrainingSessionResponse
@@ -224,27 +432,31 @@ public class TrainingSessionService {
      */
     @Transactional
     public TrainingSessionResponse cancelTrainingSession(Long id) {
-        TrainingSession session = trainingSessionRepository.findByIdAndIsDeletedFalse(id)
+        TrainingSession session = trainingSessionRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Training session not found with id: " + id));
         session.setStatus(SessionStatus.CANCELLED);
         session = trainingSessionRepository.save(session);
-        notificationService.sendSessionCancellationToParticipants(session);
+        List<User> participants = cancelConfirmedBookings(session);
+        notificationService.sendSessionCancellationToParticipants(session, participants);
+        publishChange(session, null, ChangeType.CANCELLED);
         return convertToResponse(session);
     }
 
     /**
-     * Soft delete a training session
+     * Soft delete a training session and cancel its confirmed bookings
      *
      * @param id Training session ID
      * @throws ResourceNotFoundException if session not found
      */
     @Transactional
     public void deleteTrainingSession(Long id) {
-        TrainingSession session = trainingSessionRepository.findByIdAndIsDeletedFalse(id)
+        TrainingSession session = trainingSessionRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Training session not found with id: " + id));
         session.setIsDeleted(true);
         trainingSessionRepository.save(session);
-        notificationService.sendSessionCancellationToParticipants(session);
+        List<User> participants = cancelConfirmedBookings(session);
+        notificationService.sendSessionCancellationToParticipants(session, participants);
+        publishChange(session, null, ChangeType.DELETED);
     }
 
     /**
@@ -257,11 +469,53 @@ public class TrainingSessionService {
         Long currentParticipants = trainingSessionRepository.countCurrentParticipants(session.getId());
         int participantCount = currentParticipants != null ? currentParticipants.intValue() : 0;
 
+        return buildResponse(session, userService.getUserById(session.getTrainer().getId()), participantCount);
+    }
+
+    /**
+     * Convert sessions identified by id, keeping the given order: one query for the sessions
+     * and one grouped participant count.
+     */
+    private List<TrainingSessionResponse> convertToResponses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, TrainingSession> sessions = trainingSessionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TrainingSession::getId, Function.identity()));
+        Map<Long, Long> participants = trainingSessionRepository.countCurrentParticipantsBySessionIds(ids).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        List<TrainingSessionResponse> responses = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TrainingSession session = sessions.get(id);
+            if (session == null || Boolean.TRUE.equals(session.getIsDeleted())) {
+                continue;
+            }
+            responses.add(buildResponse(session, userService.getUserById(session.getTrainer().getId()),
+                    participants.getOrDefault(id, 0L).intValue()));
+        }
+        return responses;
+    }
+
+    private void includeTrainers(List<SessionSummaryResponse> sessions, CompactListResponse.Included included) {
+        for (SessionSummaryResponse session : sessions) {
+            included.getTrainers().computeIfAbsent(session.getTrainerId(), trainerId -> {
+                UserResponse trainer = userService.getUserById(trainerId);
+                return new TrainerSummary(trainer.getId(), trainer.getFullName());
+            });
+        }
+    }
+
+    /**
+     * Build the response of a session; shared with {@link SessionAvailabilitySnapshot}
+     */
+    static TrainingSessionResponse buildResponse(TrainingSession session, UserResponse trainer, int participantCount) {
         return TrainingSessionResponse.builder()
                 .id(session.getId())
                 .name(session.getName())
                 .description(session.getDescription())
-                .trainer(userService.getUserById(session.getTrainer().getId()))
+                .trainer(trainer)
                 .date(session.getDate())
                 .startTime(session.getStartTime())
                 .endTime(session.getEndTime())
@@ -286,6 +540,60 @@ public class TrainingSessionService {
         }
     }
 
+    /**
+     * Reject a schedule that overlaps another active session of the same trainer or at the
+     * same location. Both checks are index range scans on (trainer_id | location, date, start_time).
+     */
+    private void validateAvailability(Long trainerId, String location, LocalDate date,
+                                      LocalTime startTime, LocalTime endTime, Long excludeSessionId) {
+        if (trainingSessionRepository.hasTrainerOverlap(trainerId, date, startTime, endTime, excludeSessionId)) {
+            throw new BadRequestException("Trainer already has a training session at this time");
+        }
+
+        if (trainingSessionRepository.hasLocationOverlap(location, date, startTime, endTime, excludeSessionId)) {
+            throw new BadRequestException("Location is already in use at this time");
+        }
+    }
+
+    /**
+     * Cancel every confirmed booking of a session with one query and one update, whatever the number
+     * of participants. The caller holds the session lock and the bookings are read with a locking
+     * read, so the update cancels exactly the bookings read and none can be confirmed in between.
+     * A single event carries the cancelled bookings to the change feed and the resource versions;
+     * seat counts are refreshed by the session change itself.
+     *
+     * @return Users whose booking was cancelled
+     */
+    private List<User> cancelConfirmedBookings(TrainingSession session) {
+        List<Booking> bookings = bookingRepository.lockConfirmedWithUserBySession(session.getId());
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int cancelled = bookingRepository.cancelConfirmedBySession(session.getId());
+        if (cancelled != bookings.size()) {
+            throw new IllegalStateException("Cancelled " + cancelled + " bookings of session " + session.getId()
+                    + " but locked " + bookings.size());
+        }
+        eventPublisher.publishEvent(SessionBookingsCancelledEvent.builder()
+                .sessionId(session.getId())
+                .sessionDate(session.getDate())
+                .bookings(bookings.stream()
+                        .map(booking -> new CancelledBooking(booking.getId(), booking.getUser().getId()))
+                        .collect(Collectors.toList()))
+                .build());
+        return bookings.stream().map(Booking::getUser).collect(Collectors.toList());
+    }
+
+    private void publishChange(TrainingSession session, LocalDate previousDate, ChangeType changeType) {
+        eventPublisher.publishEvent(TrainingSessionChangedEvent.builder()
+                .sessionId(session.getId())
+                .date(session.getDate())
+                .previousDate(previousDate)
+                .changeType(changeType)
+                .build());
+    }
+
     private SlotConfiguration resolveSlotConfiguration(Long slotConfigId) {
         if (slotConfigId == null) {
             return null;
@@ -2,11 +2,14 @@ package com.clublosamigos.turnero.service;
 
 import com.clublosamigos.turnero.dto.request.UpdateProfileRequest;
 import com.clublosamigos.turnero.dto.response.UserResponse;
+import com.clublosamigos.turnero.event.UserChangedEvent;
 import com.clublosamigos.turnero.exception.ResourceNotFoundException;
 import com.clublosamigos.turnero.model.User;
 import com.clublosamigos.turnero.model.User.UserRole;
 import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.service.UserSnapshotCache.UserSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,8 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all users (excluding deleted users)
@@ -41,9 +46,8 @@ public class UserService {
      * @return UserResponse
      * @throws ResourceNotFoundException if user not found
      */
-    @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
-        User user = userRepository.findByIdAndIsDeletedFalse(id)
+        UserSnapshot user = userSnapshotCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         return convertToResponse(user);
     }
@@ -73,9 +77,10 @@ public class UserService {
     /**
      * Get user profile by email
      */
-    @Transactional(readOnly = true)
     public UserResponse getUserProfile(String email) {
-        return convertToResponse(getUserEntityByEmail(email));
+        UserSnapshot user = userSnapshotCache.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        return convertToResponse(user);
     }
 
     /**
@@ -86,6 +91,7 @@ public class UserService {
         User user = getUserEntityByEmail(email);
         user.setFullName(request.getFullName());
         user = userRepository.save(user);
+        publishChange(user, UserChangedEvent.ChangeType.PROFILE_UPDATED);
         return convertToResponse(user);
     }
 
@@ -124,6 +130,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         user.setIsDeleted(true);
         userRepository.save(user);
+        publishChange(user, UserChangedEvent.ChangeType.DELETED);
     }
 
     /**
@@ -140,9 +147,39 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         user.setRole(role);
         user = userRepository.save(user);
+        publishChange(user, UserChangedEvent.ChangeType.ROLE_CHANGED);
         return convertToResponse(user);
     }
 
+    /**
+     * Publish a user change so caches on every node drop the user once the transaction commits
+     */
+    private void publishChange(User user, UserChangedEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(UserChangedEvent.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .changeType(changeType)
+                .build());
+    }
+
+    /**
+     * Convert user snapshot to UserResponse DTO
+     *
+     * @param user Cached user snapshot
+     * @return UserResponse DTO
+     */
+    private UserResponse convertToResponse(UserSnapshot user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
     /**
      * Convert User entity to UserResponse DTO
      *
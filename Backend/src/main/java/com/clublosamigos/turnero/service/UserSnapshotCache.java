@@ -0,0 +1,257 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.UserInvalidationMessage;
+import com.clublosamigos.turnero.event.UserChangedEvent;
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.model.User.UserRole;
+import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.security.UserStateCache;
+import com.clublosamigos.turnero.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of immutable user snapshots, keyed by id with a secondary email index.
+ * Serves the trainer and caller lookups repeated by every session and booking response. Entries are
+ * dropped after a committed profile, role or deletion change on this node, and on every other node
+ * through the {@code cache.user.invalidate} broadcast. When the cache is full, loading a user evicts
+ * one that has not been read recently (second-chance CLOCK), so the cache keeps working under churn.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final UserStateCache userStateCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MessageProducerService messageProducerService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-cache.max-size:500000}")
+    private int maxSize;
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>(1024);
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>(1024);
+
+    /** Eviction position over {@link #byId}; guarded by this */
+    private Iterator<Entry> clockHand = Collections.emptyIterator();
+
+    /**
+     * Bumped by every invalidation; a load that raced with one is served but not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = Counter.builder("user.cache.requests")
+                .tag("result", "hit")
+                .description("User lookups served from the snapshot cache")
+                .register(meterRegistry);
+        misses = Counter.builder("user.cache.requests")
+                .tag("result", "miss")
+                .description("User lookups that went to the database")
+                .register(meterRegistry);
+        evictions = Counter.builder("user.cache.evictions")
+                .description("User snapshots evicted to respect the size limit")
+                .register(meterRegistry);
+        Gauge.builder("user.cache.size", byId, Map::size)
+                .description("User snapshots currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a non-deleted user by id
+     *
+     * @param id User ID
+     * @return Snapshot, or empty if the user does not exist or is deleted
+     */
+    public Optional<UserSnapshot> findById(Long id) {
+        Entry cached = byId.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.read());
+        }
+        misses.increment();
+        long observed = generation.get();
+        return userRepository.findByIdAndIsDeletedFalse(id).map(user -> store(user, observed));
+    }
+
+    /**
+     * Get a non-deleted user by email
+     *
+     * @param email User email
+     * @return Snapshot, or empty if the user does not exist or is deleted
+     */
+    public Optional<UserSnapshot> findByEmail(String email) {
+        Long id = idByEmail.get(email);
+        Entry cached = id != null ? byId.get(id) : null;
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.read());
+        }
+        misses.increment();
+        long observed = generation.get();
+        return userRepository.findByEmailAndIsDeletedFalse(email).map(user -> store(user, observed));
+    }
+
+    /**
+     * Apply a committed user change locally and broadcast it to the other nodes. Runs before the
+     * other listeners of the change, so none of them reads the stale snapshot.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        UserInvalidationMessage message = UserInvalidationMessage.builder()
+                .userId(event.getUserId())
+                .email(event.getEmail())
+                .role(event.getRole())
+                .changeType(event.getChangeType())
+                .changedAt(System.currentTimeMillis())
+                .build();
+        apply(message);
+        messageProducerService.publishUserInvalidation(message);
+    }
+
+    /**
+     * Drop the cached user and, for role changes and deletions, the user's token state
+     *
+     * @param message Invalidation from this node or broadcast by another one
+     */
+    public void apply(UserInvalidationMessage message) {
+        evict(message.getUserId(), message.getEmail());
+
+        switch (message.getChangeType()) {
+            case ROLE_CHANGED -> {
+                userStateCache.recordRoleChange(message.getEmail(), message.getRole(), message.getChangedAt());
+                verifiedTokenCache.invalidateSubject(message.getEmail());
+            }
+            case DELETED -> {
+                userStateCache.recordDeletion(message.getEmail(), message.getChangedAt());
+                verifiedTokenCache.invalidateSubject(message.getEmail());
+            }
+            case PROFILE_UPDATED -> {
+                // Only the snapshot is affected
+            }
+        }
+    }
+
+    private void evict(Long userId, String email) {
+        generation.incrementAndGet();
+        if (userId != null) {
+            Entry removed = byId.remove(userId);
+            if (removed != null) {
+                idByEmail.remove(removed.snapshot.getEmail(), userId);
+            }
+        }
+        if (email != null) {
+            Long id = idByEmail.remove(email);
+            if (id != null) {
+                byId.remove(id);
+            }
+        }
+    }
+
+    private UserSnapshot store(User user, long observedGeneration) {
+        UserSnapshot snapshot = UserSnapshot.of(user);
+        if (generation.get() == observedGeneration) {
+            while (byId.size() >= maxSize && evictOne()) {
+                // Make room for the new snapshot
+            }
+            byId.put(snapshot.getId(), new Entry(snapshot));
+            idByEmail.put(snapshot.getEmail(), snapshot.getId());
+            if (generation.get() != observedGeneration) {
+                evict(snapshot.getId(), snapshot.getEmail());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Advance the clock hand to the first snapshot not read since the hand last passed it and drop
+     * it; snapshots read meanwhile get a second chance.
+     *
+     * @return false if nothing could be evicted
+     */
+    private synchronized boolean evictOne() {
+        for (int scanned = 0; scanned <= 2 * byId.size() + 1; scanned++) {
+            if (!clockHand.hasNext()) {
+                clockHand = byId.values().iterator();
+                if (!clockHand.hasNext()) {
+                    return false;
+                }
+            }
+            Entry entry = clockHand.next();
+            if (entry.referenced) {
+                entry.referenced = false;
+            } else if (byId.remove(entry.snapshot.getId(), entry)) {
+                idByEmail.remove(entry.snapshot.getEmail(), entry.snapshot.getId());
+                evictions.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cached snapshot with the CLOCK reference bit
+     */
+    private static final class Entry {
+        private final UserSnapshot snapshot;
+        private volatile boolean referenced;
+
+        private Entry(UserSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private UserSnapshot read() {
+            if (!referenced) {
+                referenced = true;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Immutable copy of the user columns needed outside a persistence context. The password hash is
+     * left out; authentication reads it from the database.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class UserSnapshot {
+        private final Long id;
+        private final String fullName;
+        private final String email;
+        private final UserRole role;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+
+        static UserSnapshot of(User user) {
+            return new UserSnapshot(user.getId(), user.getFullName(), user.getEmail(),
+                    user.getRole(), user.getCreatedAt(), user.getUpdatedAt());
+        }
+    }
+}
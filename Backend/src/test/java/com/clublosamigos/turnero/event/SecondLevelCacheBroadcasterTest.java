@@ -0,0 +1,73 @@
+package com.clublosamigos.turnero.event;
+
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.service.SecondLevelCacheSync;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SecondLevelCacheBroadcasterTest {
+
+    @Mock
+    private ObjectProvider<SecondLevelCacheSync> cacheSyncProvider;
+
+    @Mock
+    private SecondLevelCacheSync cacheSync;
+
+    private SecondLevelCacheBroadcaster broadcaster;
+
+    private final User user = User.builder().id(7L).email("ana@clublosamigos.com").build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheSyncProvider.getObject()).thenReturn(cacheSync);
+        broadcaster = new SecondLevelCacheBroadcaster(cacheSyncProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void broadcastsInsertOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.onChanged(user);
+        verify(cacheSync, never()).broadcastEviction(user);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cacheSync).broadcastEviction(user);
+    }
+
+    @Test
+    void doesNotBroadcastRolledBackChange() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.onChanged(user);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(cacheSync, never()).broadcastEviction(user);
+    }
+
+    @Test
+    void broadcastsImmediatelyOutsideTransaction() {
+        broadcaster.onChanged(user);
+
+        verify(cacheSync).broadcastEviction(user);
+    }
+}
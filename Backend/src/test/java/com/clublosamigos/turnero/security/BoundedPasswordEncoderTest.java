@@ -0,0 +1,101 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final AtomicInteger hashes = new AtomicInteger();
+
+    private final PasswordEncoder blockingDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashes.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodesOnThePool() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blockingDelegate, 1, 1, 2_000, new SimpleMeterRegistry());
+
+        assertThat(encoder.encode("secret")).isEqualTo("hash:secret");
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(blockingDelegate, 1, 1, 2_000, new SimpleMeterRegistry());
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        waitUntilQueued();
+
+        assertThatThrownBy(encoder::ensureCapacity).isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> encoder.encode("rejected")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void skipsHashThatWaitedTooLong() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(blockingDelegate, 1, 1, 50, new SimpleMeterRegistry());
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        waitUntilQueued();
+
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(hashes).hasValue(1);
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                encoder.ensureCapacity();
+            } catch (TooManyRequestsException ex) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Hash was never queued");
+    }
+}
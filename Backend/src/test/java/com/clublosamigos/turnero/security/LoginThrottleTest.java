@@ -0,0 +1,85 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private static final String EMAIL = "ana@clublosamigos.com";
+    private static final String OWNER_IP = "198.51.100.4";
+    private static final String ATTACKER_IP = "203.0.113.7";
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(throttle, "ipCapacity", 100);
+        ReflectionTestUtils.setField(throttle, "ipRefillPerMinute", 10);
+        ReflectionTestUtils.setField(throttle, "accountCapacity", 5);
+        ReflectionTestUtils.setField(throttle, "accountRefillPerMinute", 1);
+        ReflectionTestUtils.setField(throttle, "accountTotalCapacity", 20);
+        ReflectionTestUtils.setField(throttle, "accountTotalRefillPerMinute", 5);
+        throttle.registerMetrics();
+    }
+
+    @Test
+    void successfulLoginsAreNotChargedToTheAccount() {
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire(OWNER_IP, EMAIL);
+        }
+
+        assertThatCode(() -> throttle.acquire(OWNER_IP, EMAIL)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void ownerCanLogInWhileFailuresFromAnotherClientAreThrottled() {
+        failFrom(ATTACKER_IP, 5);
+
+        assertThatThrownBy(() -> throttle.acquire(ATTACKER_IP, EMAIL))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.acquire(OWNER_IP, EMAIL)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void throttledAttemptsDoNotDrainTheAccountBudget() {
+        failFrom(ATTACKER_IP, 5);
+        for (int i = 0; i < 50; i++) {
+            assertThatThrownBy(() -> throttle.acquire(ATTACKER_IP, EMAIL))
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        assertThatCode(() -> throttle.acquire(OWNER_IP, EMAIL)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void failuresFromManyClientsThrottleTheAccount() {
+        for (int client = 0; client < 4; client++) {
+            failFrom("203.0.113." + client, 5);
+        }
+
+        assertThatThrownBy(() -> throttle.acquire(OWNER_IP, EMAIL))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void accountIsMatchedCaseInsensitively() {
+        failFrom(ATTACKER_IP, 5);
+
+        assertThatThrownBy(() -> throttle.acquire(ATTACKER_IP, " Ana@ClubLosAmigos.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private void failFrom(String clientIp, int failures) {
+        for (int i = 0; i < failures; i++) {
+            throttle.acquire(clientIp, EMAIL);
+            throttle.recordFailure(clientIp, EMAIL);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.clublosamigos.turnero.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitRoutes.Route bookingCreate = new RateLimitRoutes.Route();
+        bookingCreate.setName("booking-create");
+        bookingCreate.setMethod("POST");
+        bookingCreate.setPattern("/api/bookings");
+        bookingCreate.setCapacity(2);
+        bookingCreate.setRefillPerMinute(1);
+        RateLimitRoutes routes = new RateLimitRoutes();
+        routes.setRoutes(List.of(bookingCreate));
+
+        filter = new RateLimitFilter(new ObjectMapper().findAndRegisterModules(), meterRegistry, routes);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "readCapacity", 100);
+        ReflectionTestUtils.setField(filter, "readRefillPerMinute", 100);
+        ReflectionTestUtils.setField(filter, "writeCapacity", 10);
+        ReflectionTestUtils.setField(filter, "writeRefillPerMinute", 10);
+        ReflectionTestUtils.setField(filter, "maxBuckets", 100);
+        filter.registerMetrics();
+    }
+
+    @Test
+    void bookingCreationHasItsOwnStricterBudget() throws Exception {
+        assertThat(send("POST", "/api/bookings", "203.0.113.7").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/bookings", "203.0.113.7").getHeader("RateLimit-Limit")).isEqualTo("2");
+
+        MockHttpServletResponse rejected = send("POST", "/api/bookings", "203.0.113.7");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("policy", "booking-create").counter().count())
+                .isEqualTo(1);
+
+        // Other writes keep the general write budget
+        MockHttpServletResponse otherWrite = send("POST", "/api/bookings/series", "203.0.113.7");
+        assertThat(otherWrite.getStatus()).isEqualTo(200);
+        assertThat(otherWrite.getHeader("RateLimit-Limit")).isEqualTo("10");
+    }
+
+    @Test
+    void readsAndWritesOutsideRoutesUseGeneralBudgets() throws Exception {
+        assertThat(send("GET", "/api/bookings", "203.0.113.7").getHeader("RateLimit-Limit")).isEqualTo("100");
+        assertThat(send("DELETE", "/api/bookings/5", "203.0.113.7").getHeader("RateLimit-Limit")).isEqualTo("10");
+    }
+
+    @Test
+    void fullBucketMapRejectsNewClientsButServesKnownOnes() throws Exception {
+        ReflectionTestUtils.setField(filter, "maxBuckets", 1);
+        assertThat(send("GET", "/api/training-sessions", "203.0.113.7").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse newClient = send("GET", "/api/training-sessions", "198.51.100.4");
+        assertThat(newClient.getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("policy", "overflow").counter().count())
+                .isEqualTo(1);
+
+        assertThat(send("GET", "/api/training-sessions", "203.0.113.7").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse send(String method, String path, String clientIp) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(clientIp);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,121 @@
+package com.clublosamigos.turnero.security;
+
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.model.User.UserRole;
+import com.clublosamigos.turnero.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStateCacheTest {
+
+    private static final String EMAIL = "ana@clublosamigos.com";
+    private static final List<String> USER = List.of("ROLE_USUARIO");
+    private static final List<String> TRAINER = List.of("ROLE_ENTRENADOR");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private UserStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserStateCache(userRepository, jwtUtil);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        lenient().when(jwtUtil.getAccessTokenTtl()).thenReturn(900_000L);
+    }
+
+    @Test
+    void readsThroughOnceAndAcceptsMatchingRole() {
+        when(userRepository.findByEmailAndIsDeletedFalse(EMAIL)).thenReturn(Optional.of(user(UserRole.USUARIO)));
+
+        assertThat(cache.isCurrent(EMAIL, USER, 1_000)).isTrue();
+        assertThat(cache.isCurrent(EMAIL, TRAINER, 1_000)).isFalse();
+        verify(userRepository, times(1)).findByEmailAndIsDeletedFalse(EMAIL);
+    }
+
+    @Test
+    void rejectsTokenIssuedBeforeRoleChangedAndBack() {
+        long issuedAt = 1_700_000_000_000L;
+        cache.recordRoleChange(EMAIL, UserRole.ENTRENADOR, issuedAt + 10_000);
+        cache.recordRoleChange(EMAIL, UserRole.USUARIO, issuedAt + 20_000);
+
+        // Same role as the token again, but the token predates both changes
+        assertThat(cache.isCurrent(EMAIL, USER, issuedAt)).isFalse();
+        assertThat(cache.isCurrent(EMAIL, USER, issuedAt + 20_000)).isTrue();
+    }
+
+    @Test
+    void acceptsTokenIssuedInTheSameSecondAsTheChange() {
+        cache.recordRoleChange(EMAIL, UserRole.ENTRENADOR, 1_700_000_000_900L);
+
+        assertThat(cache.isCurrent(EMAIL, TRAINER, 1_700_000_000_000L)).isTrue();
+        assertThat(cache.isCurrent(EMAIL, TRAINER, 1_699_999_999_000L)).isFalse();
+    }
+
+    @Test
+    void rejectsEveryTokenOfDeletedUser() {
+        cache.recordDeletion(EMAIL, 1_700_000_000_000L);
+
+        assertThat(cache.isCurrent(EMAIL, USER, 1_700_000_100_000L)).isFalse();
+    }
+
+    @Test
+    void keepsLatestChangeWhenBroadcastsArriveOutOfOrder() {
+        cache.recordRoleChange(EMAIL, UserRole.ENTRENADOR, 1_700_000_020_000L);
+        cache.recordRoleChange(EMAIL, UserRole.USUARIO, 1_700_000_010_000L);
+
+        assertThat(cache.isCurrent(EMAIL, TRAINER, 1_700_000_030_000L)).isTrue();
+        assertThat(cache.isCurrent(EMAIL, USER, 1_700_000_030_000L)).isFalse();
+    }
+
+    @Test
+    void unknownUserIsTreatedAsDeleted() {
+        when(userRepository.findByEmailAndIsDeletedFalse(anyString())).thenReturn(Optional.empty());
+
+        assertThat(cache.isCurrent(EMAIL, USER, System.currentTimeMillis())).isFalse();
+    }
+
+    @Test
+    void purgesOnlySettledEntriesWhenFull() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        long now = System.currentTimeMillis();
+        cache.recordRoleChange("old@clublosamigos.com", UserRole.USUARIO, now - 3_600_000);
+        cache.recordRoleChange(EMAIL, UserRole.ENTRENADOR, now);
+        when(userRepository.findByEmailAndIsDeletedFalse("new@clublosamigos.com"))
+                .thenReturn(Optional.of(user(UserRole.USUARIO)));
+
+        cache.isCurrent("new@clublosamigos.com", USER, now);
+
+        // The recent change must survive the purge so older tokens stay rejected
+        assertThat(cache.isCurrent(EMAIL, TRAINER, now - 60_000)).isFalse();
+        verify(userRepository, times(0)).findByEmailAndIsDeletedFalse(EMAIL);
+    }
+
+    private static User user(UserRole role) {
+        return User.builder()
+                .id(1L)
+                .email(EMAIL)
+                .fullName("Ana Lopez")
+                .role(role)
+                .isDeleted(false)
+                .build();
+    }
+}
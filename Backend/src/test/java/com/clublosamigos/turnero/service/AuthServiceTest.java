@@ -0,0 +1,103 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.request.LoginRequest;
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import com.clublosamigos.turnero.exception.UnauthorizedException;
+import com.clublosamigos.turnero.repository.RefreshTokenRepository;
+import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.security.BoundedPasswordEncoder;
+import com.clublosamigos.turnero.security.CustomUserDetailsService;
+import com.clublosamigos.turnero.security.JwtUtil;
+import com.clublosamigos.turnero.security.LoginThrottle;
+import com.clublosamigos.turnero.security.RevokedTokenRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Test
+    void saturatedPoolBeforeAuthenticationIsTooManyRequests() {
+        doThrow(new TooManyRequestsException("busy", 1)).when(passwordEncoder).ensureCapacity();
+
+        assertThatThrownBy(() -> authService.login(request(), CLIENT_IP))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    void saturatedPoolWrappedByAuthenticationIsTooManyRequests() {
+        // The authentication provider wraps exceptions thrown while loading or checking the user
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new InternalAuthenticationServiceException("failed",
+                        new TooManyRequestsException("busy", 1)));
+
+        assertThatThrownBy(() -> authService.login(request(), CLIENT_IP))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(loginThrottle, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    void badCredentialsAreUnauthorizedAndChargedToTheAccount() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThatThrownBy(() -> authService.login(request(), CLIENT_IP))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(loginThrottle).recordFailure(CLIENT_IP, "ana@clublosamigos.com");
+    }
+
+    private static LoginRequest request() {
+        return LoginRequest.builder()
+                .email("ana@clublosamigos.com")
+                .password("Secret123!")
+                .build();
+    }
+}
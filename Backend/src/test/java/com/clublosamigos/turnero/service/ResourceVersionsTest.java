@@ -0,0 +1,195 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.config.ReplicaHealthMonitor;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.event.UserChangedEvent;
+import com.clublosamigos.turnero.model.ChangeLogSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceVersionsTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private MessageProducerService messageProducerService;
+
+    @Mock
+    private SequenceAllocator sequenceAllocator;
+
+    @Mock
+    private ObjectProvider<ReplicaHealthMonitor> replicaHealthMonitor;
+
+    private final AtomicLong counter = new AtomicLong(100);
+
+    private ResourceVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(sequenceAllocator.current(ChangeLogSequence.RESOURCE_VERSIONS_ID)).thenAnswer(call -> counter.get());
+        lenient().when(sequenceAllocator.next(ChangeLogSequence.RESOURCE_VERSIONS_ID)).thenAnswer(call -> counter.incrementAndGet());
+        versions = startNode();
+    }
+
+    @Test
+    void sessionChangeInvalidatesItsSessionDateAndLists() {
+        String session = versions.session(1L).getEtag();
+        String otherSession = versions.session(2L).getEtag();
+        String date = versions.sessionsBetween(DATE, DATE).getEtag();
+        String otherDate = versions.sessionsBetween(DATE.plusDays(1), DATE.plusDays(1)).getEtag();
+        String all = versions.sessions().getEtag();
+
+        versions.onTrainingSessionChanged(sessionChanged(1L));
+
+        assertThat(versions.session(1L).getEtag()).isNotEqualTo(session);
+        assertThat(versions.sessionsBetween(DATE, DATE).getEtag()).isNotEqualTo(date);
+        assertThat(versions.sessions().getEtag()).isNotEqualTo(all);
+        assertThat(versions.session(2L).getEtag()).isEqualTo(otherSession);
+        assertThat(versions.sessionsBetween(DATE.plusDays(1), DATE.plusDays(1)).getEtag()).isEqualTo(otherDate);
+    }
+
+    @Test
+    void bookingChangeInvalidatesOnlyItsUsersBookingsUnlessSeatsChanged() {
+        String ownBookings = versions.bookingsOfUser(10L).getEtag();
+        String otherBookings = versions.bookingsOfUser(11L).getEtag();
+        String all = versions.sessions().getEtag();
+
+        versions.onBookingChanged(bookingChanged(0));
+
+        assertThat(versions.bookingsOfUser(10L).getEtag()).isNotEqualTo(ownBookings);
+        assertThat(versions.bookingsOfUser(11L).getEtag()).isEqualTo(otherBookings);
+        assertThat(versions.sessions().getEtag()).isEqualTo(all);
+
+        versions.onBookingChanged(bookingChanged(1));
+
+        assertThat(versions.sessions().getEtag()).isNotEqualTo(all);
+    }
+
+    @Test
+    void userChangeInvalidatesEverySessionRead() {
+        String session = versions.session(1L).getEtag();
+
+        versions.onUserChanged(UserChangedEvent.builder()
+                .userId(5L)
+                .changeType(UserChangedEvent.ChangeType.PROFILE_UPDATED)
+                .build());
+
+        assertThat(versions.session(1L).getEtag()).isNotEqualTo(session);
+    }
+
+    @Test
+    void nodesApplyingTheSameChangesAgreeOnEtags() {
+        ResourceVersions otherNode = startNode();
+        assertThat(otherNode.session(1L).getEtag()).isEqualTo(versions.session(1L).getEtag());
+
+        versions.onTrainingSessionChanged(sessionChanged(1L));
+        ResourceChangeMessage broadcast = published();
+        assertThat(otherNode.session(1L).getEtag()).isNotEqualTo(versions.session(1L).getEtag());
+
+        otherNode.apply(broadcast);
+
+        assertThat(otherNode.session(1L).getEtag()).isEqualTo(versions.session(1L).getEtag());
+        assertThat(otherNode.sessionsBetween(DATE, DATE).getEtag())
+                .isEqualTo(versions.sessionsBetween(DATE, DATE).getEtag());
+    }
+
+    @Test
+    void ignoresItsOwnBroadcast() {
+        versions.onTrainingSessionChanged(sessionChanged(1L));
+        ResourceChangeMessage broadcast = published();
+        String session = versions.session(1L).getEtag();
+
+        assertThat(versions.isFromOtherNode(broadcast)).isFalse();
+        versions.apply(broadcast);
+
+        assertThat(versions.session(1L).getEtag()).isEqualTo(session);
+    }
+
+    @Test
+    void changeWithoutSharedVersionMakesEtagNodeSpecific() {
+        ResourceVersions otherNode = startNode();
+        when(sequenceAllocator.next(ChangeLogSequence.RESOURCE_VERSIONS_ID)).thenThrow(new IllegalStateException("down"));
+        String session = versions.session(1L).getEtag();
+
+        versions.onTrainingSessionChanged(sessionChanged(1L));
+
+        assertThat(versions.session(1L).getEtag()).isNotEqualTo(session);
+        otherNode.apply(published());
+        assertThat(otherNode.session(1L).getEtag()).isNotEqualTo(versions.session(1L).getEtag());
+    }
+
+    @Test
+    void eachFormatHasItsOwnEtag() {
+        ResourceVersions.ResourceVersion version = versions.sessions();
+
+        assertThat(version.withFormat("cbor").getEtag())
+                .isNotEqualTo(version.withFormat("json").getEtag())
+                .isNotEqualTo(version.getEtag())
+                .startsWith("\"")
+                .endsWith("-cbor\"");
+    }
+
+    @Test
+    void recentlyChangedSessionIsReadFromPrimary() {
+        ReplicaHealthMonitor monitor = mock(ReplicaHealthMonitor.class);
+        when(monitor.getMaxLagSeconds()).thenReturn(5L);
+        when(replicaHealthMonitor.getIfAvailable()).thenReturn(monitor);
+        ResourceVersions withReplicas = startNode();
+
+        withReplicas.onTrainingSessionChanged(sessionChanged(1L));
+
+        assertThat(withReplicas.session(1L).isPrimaryOnly()).isTrue();
+        assertThat(withReplicas.session(1L).getLastModified()).isEqualTo(-1);
+    }
+
+    private ResourceVersions startNode() {
+        ResourceVersions node = new ResourceVersions(messageProducerService, sequenceAllocator, replicaHealthMonitor,
+                new SimpleMeterRegistry());
+        node.registerMetrics();
+        node.joinSharedVersions();
+        return node;
+    }
+
+    private ResourceChangeMessage published() {
+        ArgumentCaptor<ResourceChangeMessage> message = ArgumentCaptor.forClass(ResourceChangeMessage.class);
+        verify(messageProducerService).publishResourceChange(message.capture());
+        return message.getValue();
+    }
+
+    private static TrainingSessionChangedEvent sessionChanged(Long sessionId) {
+        return TrainingSessionChangedEvent.builder()
+                .sessionId(sessionId)
+                .date(DATE)
+                .changeType(TrainingSessionChangedEvent.ChangeType.UPDATED)
+                .build();
+    }
+
+    private static BookingChangedEvent bookingChanged(int participantDelta) {
+        return BookingChangedEvent.builder()
+                .bookingId(20L)
+                .userId(10L)
+                .sessionId(1L)
+                .sessionDate(DATE)
+                .participantDelta(participantDelta)
+                .changeType(BookingChangedEvent.ChangeType.CANCELLED)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.SeatChangeMessage;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.exception.TooManyRequestsException;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityStreamTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    @Mock
+    private TrainingSessionRepository trainingSessionRepository;
+
+    @Mock
+    private MessageProducerService messageProducerService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SeatAvailabilityStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new SeatAvailabilityStream(trainingSessionRepository, messageProducerService,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(stream, "maxConnections", 100);
+        ReflectionTestUtils.setField(stream, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(stream, "maxQueuedEvents", 16);
+        ReflectionTestUtils.setField(stream, "senderThreads", 1);
+        ReflectionTestUtils.setField(stream, "writeTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(stream, "maxConnectionsPerClient", 2);
+        // Flushes are triggered by the tests
+        ReflectionTestUtils.setField(stream, "coalesceIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(stream, "heartbeatIntervalMs", 3_600_000L);
+        stream.init();
+        lenient().when(trainingSessionRepository.findSeatRowsByDates(any())).thenReturn(List.<Object[]>of(seatRow(1L, 2L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThatThrownBy(() -> stream.subscribe(List.of(), List.of(), CLIENT_IP))
+                .isInstanceOf(BadRequestException.class);
+        List<Long> tooManySessions = IntStream.rangeClosed(1, 51).mapToObj(Long::valueOf).collect(Collectors.toList());
+        assertThatThrownBy(() -> stream.subscribe(tooManySessions, List.of(), CLIENT_IP))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void limitsOpenStreamsPerClient() {
+        stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP);
+        stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP);
+
+        assertThatThrownBy(() -> stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP))
+                .isInstanceOf(TooManyRequestsException.class);
+        stream.subscribe(List.of(), List.of(MONDAY), "198.51.100.4");
+    }
+
+    @Test
+    void coalescesChangesOfOneSessionIntoOneUpdate() {
+        stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP);
+        when(trainingSessionRepository.findSeatRowsBySessionIds(Set.of(1L))).thenReturn(List.<Object[]>of(seatRow(1L, 5L)));
+
+        stream.onBookingChanged(bookingChanged(1L, 1));
+        stream.onBookingChanged(bookingChanged(1L, 1));
+        stream.onBookingChanged(bookingChanged(1L, 1));
+        stream.flush();
+
+        verify(trainingSessionRepository, times(1)).findSeatRowsBySessionIds(anyCollection());
+        verify(messageProducerService, times(3)).publishSeatChange(any());
+        assertThat(updatesPushed()).isEqualTo(1);
+    }
+
+    @Test
+    void pushesNewSessionToSubscribersOfItsDate() {
+        stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP);
+        when(trainingSessionRepository.findSeatRowsBySessionIds(Set.of(9L))).thenReturn(List.<Object[]>of(seatRow(9L, 0L)));
+
+        stream.onTrainingSessionChanged(TrainingSessionChangedEvent.builder()
+                .sessionId(9L)
+                .date(MONDAY)
+                .changeType(TrainingSessionChangedEvent.ChangeType.CREATED)
+                .build());
+        stream.flush();
+
+        assertThat(updatesPushed()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsChangesNobodyWatches() {
+        stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP);
+
+        stream.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(30L)
+                .userId(20L)
+                .sessionId(2L)
+                .sessionDate(MONDAY.plusDays(1))
+                .participantDelta(1)
+                .changeType(BookingChangedEvent.ChangeType.CREATED)
+                .build());
+        stream.flush();
+
+        verify(trainingSessionRepository, never()).findSeatRowsBySessionIds(anyCollection());
+        assertThat(updatesPushed()).isZero();
+    }
+
+    @Test
+    void appliesChangesFromOtherNodesButNotItsOwn() {
+        stream.subscribe(List.of(), List.of(MONDAY), CLIENT_IP);
+
+        stream.apply(seatChange((String) ReflectionTestUtils.getField(stream, "nodeId")));
+        stream.flush();
+        verify(trainingSessionRepository, never()).findSeatRowsBySessionIds(anyCollection());
+
+        when(trainingSessionRepository.findSeatRowsBySessionIds(Set.of(1L))).thenReturn(List.<Object[]>of(seatRow(1L, 3L)));
+        stream.apply(seatChange("other-node"));
+        stream.flush();
+        assertThat(updatesPushed()).isEqualTo(1);
+    }
+
+    private double updatesPushed() {
+        return meterRegistry.get("seat.stream.updates").counter().count();
+    }
+
+    private static Object[] seatRow(Long sessionId, Long participants) {
+        return new Object[]{sessionId, MONDAY, 8, participants};
+    }
+
+    private static BookingChangedEvent bookingChanged(Long sessionId, int participantDelta) {
+        return BookingChangedEvent.builder()
+                .bookingId(30L)
+                .userId(20L)
+                .sessionId(sessionId)
+                .sessionDate(MONDAY)
+                .participantDelta(participantDelta)
+                .changeType(BookingChangedEvent.ChangeType.CREATED)
+                .build();
+    }
+
+    private static SeatChangeMessage seatChange(String originNode) {
+        return SeatChangeMessage.builder()
+                .originNode(originNode)
+                .sessionId(1L)
+                .sessionDate(MONDAY)
+                .participantDelta(1)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.EntityInvalidationMessage;
+import com.clublosamigos.turnero.model.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecondLevelCacheSyncTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private MessageProducerService messageProducerService;
+
+    @Mock
+    private Metamodel metamodel;
+
+    @Mock
+    private EntityType<User> userType;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    private SecondLevelCacheSync cacheSync;
+
+    @BeforeEach
+    void setUp() {
+        cacheSync = new SecondLevelCacheSync(entityManagerFactory, messageProducerService);
+        lenient().when(entityManagerFactory.getMetamodel()).thenReturn(metamodel);
+        lenient().when(userType.getName()).thenReturn("User");
+        lenient().when(userType.getJavaType()).thenReturn(User.class);
+    }
+
+    @Test
+    void broadcastsChangedEntityFromThisNode() {
+        User user = User.builder().id(7L).build();
+        PersistenceUnitUtil persistenceUnitUtil = mock(PersistenceUnitUtil.class);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(user)).thenReturn(7L);
+        when(metamodel.entity(User.class)).thenReturn(userType);
+
+        cacheSync.broadcastEviction(user);
+
+        ArgumentCaptor<EntityInvalidationMessage> message = ArgumentCaptor.forClass(EntityInvalidationMessage.class);
+        verify(messageProducerService).publishEntityInvalidation(message.capture());
+        assertThat(message.getValue().getEntityName()).isEqualTo("User");
+        assertThat(message.getValue().getEntityId()).isEqualTo(7L);
+        assertThat(message.getValue().getOriginNode()).isEqualTo(ReflectionTestUtils.getField(cacheSync, "nodeId"));
+    }
+
+    @Test
+    void evictsEntityAndQueryResultsChangedOnAnotherNode() {
+        when(metamodel.getEntities()).thenReturn(Set.<EntityType<?>>of(userType));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+
+        cacheSync.apply(message("other-node"));
+
+        verify(cache).evict(User.class, 7L);
+        verify(hibernateCache).evictQueryRegions();
+    }
+
+    @Test
+    void ignoresItsOwnBroadcast() {
+        cacheSync.apply(message((String) ReflectionTestUtils.getField(cacheSync, "nodeId")));
+
+        verify(entityManagerFactory, never()).getCache();
+        verify(cache, never()).evict(any(), anyLong());
+    }
+
+    private static EntityInvalidationMessage message(String originNode) {
+        return EntityInvalidationMessage.builder()
+                .originNode(originNode)
+                .entityName("User")
+                .entityId(7L)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.service.ResourceVersions.ResourceVersion;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedResponseCacheTest {
+
+    private static final ResourceVersion SETTLED = new ResourceVersion("\"2s\"", 1_700_000_000_000L, List.of(), false);
+    private static final ResourceVersion RECENT = new ResourceVersion("\"2t\"", -1, List.of(), false);
+
+    private final AtomicInteger serializations = new AtomicInteger();
+    private final Supplier<Map<String, String>> body = () -> {
+        serializations.incrementAndGet();
+        return Map.of("name", "Funcional");
+    };
+
+    private SerializedResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SerializedResponseCache(
+                List.of(new MappingJackson2HttpMessageConverter(), new MappingJackson2CborHttpMessageConverter(),
+                        new MappingJackson2SmileHttpMessageConverter()),
+                new ContentNegotiationManager(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_048_576L);
+        cache.registerMetrics();
+    }
+
+    @Test
+    void answersJsonToAnyAcceptAndVariesOnAccept() {
+        ResponseEntity<byte[]> response = cache.respond(request("*/*"), "sessions", SETTLED, body);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+        assertThat(new String(response.getBody())).isEqualTo("{\"name\":\"Funcional\"}");
+    }
+
+    @Test
+    void answersCborWhenAccepted() throws Exception {
+        ResponseEntity<byte[]> response = cache.respond(request("application/cbor"), "sessions", SETTLED, body);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        Map<String, String> decoded = new ObjectMapper(new CBORFactory())
+                .readValue(response.getBody(), new TypeReference<Map<String, String>>() { });
+        assertThat(decoded).containsEntry("name", "Funcional");
+    }
+
+    @Test
+    void reusesBytesOfSettledVersionPerFormat() {
+        cache.respond(request("application/json"), "sessions", SETTLED, body);
+        cache.respond(request("application/json"), "sessions", SETTLED, body);
+        assertThat(serializations).hasValue(1);
+
+        cache.respond(request("application/x-jackson-smile"), "sessions", SETTLED, body);
+        assertThat(serializations).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheVersionThatHasNotSettled() {
+        cache.respond(request("application/json"), "sessions", RECENT, body);
+        cache.respond(request("application/json"), "sessions", RECENT, body);
+
+        assertThat(serializations).hasValue(2);
+    }
+
+    @Test
+    void newVersionIsSerializedAgain() {
+        cache.respond(request("application/json"), "sessions", SETTLED, body);
+        cache.respond(request("application/json"), "sessions",
+                new ResourceVersion("\"2u\"", 1_700_000_001_000L, List.of(), false), body);
+
+        assertThat(serializations).hasValue(2);
+    }
+
+    private static NativeWebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/training-sessions");
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        return new ServletWebRequest(request);
+    }
+}
@@ -0,0 +1,218 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage.ResourceType;
+import com.clublosamigos.turnero.dto.response.SessionAvailabilityResponse;
+import com.clublosamigos.turnero.dto.response.TrainingSessionResponse;
+import com.clublosamigos.turnero.dto.response.UserResponse;
+import com.clublosamigos.turnero.event.BookingChangedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent;
+import com.clublosamigos.turnero.event.BookingsCreatedEvent.CreatedBooking;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.exception.BadRequestException;
+import com.clublosamigos.turnero.model.TrainingSession;
+import com.clublosamigos.turnero.model.TrainingSession.SessionStatus;
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionAvailabilitySnapshotTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private final User trainer = User.builder().id(5L).fullName("Diego Martínez").build();
+
+    @Mock
+    private TrainingSessionRepository trainingSessionRepository;
+
+    @Mock
+    private UserService userService;
+
+    private SessionAvailabilitySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new SessionAvailabilitySnapshot(trainingSessionRepository, userService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(snapshot, "enabled", true);
+        snapshot.registerMetrics();
+        lenient().when(userService.getUserById(5L))
+                .thenReturn(UserResponse.builder().id(5L).fullName("Diego Martínez").build());
+    }
+
+    @Test
+    void servesLoadedSessionsInOrderWithTheirTrainer() {
+        load(List.of(
+                session(1L, MONDAY, 9, SessionStatus.ACTIVE),
+                session(2L, MONDAY, 18, SessionStatus.CANCELLED),
+                session(3L, TUESDAY, 9, SessionStatus.ACTIVE)),
+                List.<Object[]>of(participants(1L, 3L)));
+
+        List<TrainingSessionResponse> all = snapshot.getSessions(LocalDate.MIN, LocalDate.MAX, false);
+        assertThat(all).extracting(TrainingSessionResponse::getId).containsExactly(1L, 2L, 3L);
+        assertThat(all.get(0).getTrainer().getFullName()).isEqualTo("Diego Martínez");
+        assertThat(all.get(0).getCurrentParticipants()).isEqualTo(3);
+
+        assertThat(snapshot.getSessions(MONDAY, MONDAY, true))
+                .extracting(TrainingSessionResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    void appliesBookingDeltasWithoutQueryingTheDatabase() {
+        load(List.of(session(1L, MONDAY, 9, SessionStatus.ACTIVE)), List.<Object[]>of(participants(1L, 3L)));
+
+        snapshot.onBookingChanged(bookingChanged(1L, 1));
+        snapshot.onBookingChanged(bookingChanged(1L, -1));
+        snapshot.onBookingChanged(bookingChanged(1L, 1));
+
+        assertThat(seatsLeft(MONDAY)).containsExactly(4);
+        verify(trainingSessionRepository, never()).findByDateAndIsDeletedFalseOrderByStartTimeAsc(any());
+    }
+
+    @Test
+    void appliesBulkCreatedBookingsPerSession() {
+        load(List.of(
+                session(1L, MONDAY, 9, SessionStatus.ACTIVE),
+                session(3L, TUESDAY, 9, SessionStatus.ACTIVE)),
+                List.of());
+
+        snapshot.onBookingsCreated(new BookingsCreatedEvent(List.of(
+                new CreatedBooking(10L, 20L, 1L, MONDAY),
+                new CreatedBooking(11L, 21L, 1L, MONDAY),
+                new CreatedBooking(12L, 20L, 3L, TUESDAY))));
+
+        assertThat(seatsLeft(MONDAY)).containsExactly(6);
+        assertThat(seatsLeft(TUESDAY)).containsExactly(7);
+    }
+
+    @Test
+    void reloadsTheOldAndNewDayOfAMovedSession() {
+        load(List.of(session(1L, MONDAY, 9, SessionStatus.ACTIVE)), List.of());
+        when(trainingSessionRepository.findByDateAndIsDeletedFalseOrderByStartTimeAsc(MONDAY)).thenReturn(List.of());
+        when(trainingSessionRepository.findByDateAndIsDeletedFalseOrderByStartTimeAsc(TUESDAY))
+                .thenReturn(List.of(session(1L, TUESDAY, 9, SessionStatus.ACTIVE)));
+        when(trainingSessionRepository.countCurrentParticipantsBySessionIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(participants(1L, 2L)));
+
+        snapshot.onTrainingSessionChanged(TrainingSessionChangedEvent.builder()
+                .sessionId(1L)
+                .date(TUESDAY)
+                .previousDate(MONDAY)
+                .changeType(TrainingSessionChangedEvent.ChangeType.UPDATED)
+                .build());
+
+        assertThat(snapshot.getSessions(MONDAY, MONDAY, false)).isEmpty();
+        assertThat(seatsLeft(TUESDAY)).containsExactly(6);
+    }
+
+    @Test
+    void reloadsDaysWhoseSeatsChangedOnAnotherNode() {
+        load(List.of(session(1L, MONDAY, 9, SessionStatus.ACTIVE)), List.of());
+        when(trainingSessionRepository.findByDateAndIsDeletedFalseOrderByStartTimeAsc(MONDAY))
+                .thenReturn(List.of(session(1L, MONDAY, 9, SessionStatus.ACTIVE)));
+        when(trainingSessionRepository.countCurrentParticipantsBySessionIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(participants(1L, 5L)));
+
+        snapshot.apply(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.BOOKING)
+                .sessionId(1L)
+                .sessionDate(MONDAY)
+                .seatsChanged(false)
+                .build());
+        assertThat(seatsLeft(MONDAY)).containsExactly(8);
+
+        snapshot.apply(ResourceChangeMessage.builder()
+                .resourceType(ResourceType.BOOKING)
+                .sessionIds(List.of(1L))
+                .sessionDates(List.of(MONDAY))
+                .seatsChanged(true)
+                .build());
+        assertThat(seatsLeft(MONDAY)).containsExactly(3);
+    }
+
+    @Test
+    void readsAvailabilityFromTheDatabaseWhenDisabled() {
+        ReflectionTestUtils.setField(snapshot, "enabled", false);
+        snapshot.load();
+        TrainingSession session = session(1L, MONDAY, 9, SessionStatus.ACTIVE);
+        when(trainingSessionRepository.findActiveWithTrainerBetween(MONDAY, MONDAY)).thenReturn(List.of(session));
+        when(trainingSessionRepository.countCurrentParticipantsBySessionIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(participants(1L, 1L)));
+
+        assertThat(snapshot.isReady()).isFalse();
+        assertThat(snapshot.getAvailability(MONDAY, MONDAY))
+                .extracting(SessionAvailabilityResponse::getSeatsLeft).containsExactly(7);
+        verify(trainingSessionRepository, never()).findByIsDeletedFalseOrderByDateAscStartTimeAsc();
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThatThrownBy(() -> snapshot.getAvailability(TUESDAY, MONDAY)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> snapshot.getAvailability(MONDAY, MONDAY.plusDays(62)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void load(List<TrainingSession> sessions, List<Object[]> participants) {
+        when(trainingSessionRepository.findByIsDeletedFalseOrderByDateAscStartTimeAsc()).thenReturn(sessions);
+        when(trainingSessionRepository.countAllCurrentParticipants()).thenReturn(participants);
+        snapshot.load();
+        assertThat(snapshot.isReady()).isTrue();
+    }
+
+    private List<Integer> seatsLeft(LocalDate date) {
+        return snapshot.getAvailability(date, date).stream()
+                .map(SessionAvailabilityResponse::getSeatsLeft)
+                .toList();
+    }
+
+    private TrainingSession session(Long id, LocalDate date, int hour, SessionStatus status) {
+        return TrainingSession.builder()
+                .id(id)
+                .name("Funcional")
+                .trainer(trainer)
+                .date(date)
+                .startTime(LocalTime.of(hour, 0))
+                .endTime(LocalTime.of(hour + 1, 0))
+                .location("Cancha 1")
+                .maxParticipants(8)
+                .status(status)
+                .isDeleted(false)
+                .build();
+    }
+
+    private static Object[] participants(Long sessionId, Long count) {
+        return new Object[]{sessionId, count};
+    }
+
+    private static BookingChangedEvent bookingChanged(Long sessionId, int participantDelta) {
+        return BookingChangedEvent.builder()
+                .bookingId(10L)
+                .userId(20L)
+                .sessionId(sessionId)
+                .sessionDate(MONDAY)
+                .participantDelta(participantDelta)
+                .changeType(participantDelta > 0
+                        ? BookingChangedEvent.ChangeType.CREATED
+                        : BookingChangedEvent.ChangeType.CANCELLED)
+                .build();
+    }
+}
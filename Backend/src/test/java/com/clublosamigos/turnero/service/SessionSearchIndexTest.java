@@ -0,0 +1,129 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage;
+import com.clublosamigos.turnero.dto.message.ResourceChangeMessage.ResourceType;
+import com.clublosamigos.turnero.event.TrainingSessionChangedEvent;
+import com.clublosamigos.turnero.event.UserChangedEvent;
+import com.clublosamigos.turnero.model.User.UserRole;
+import com.clublosamigos.turnero.repository.TrainingSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionSearchIndexTest {
+
+    private static final Long TRAINER_ID = 5L;
+
+    @Mock
+    private TrainingSessionRepository trainingSessionRepository;
+
+    private SessionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SessionSearchIndex(trainingSessionRepository, new SimpleMeterRegistry());
+        index.registerMetrics();
+        when(trainingSessionRepository.findSearchRows()).thenReturn(List.of(
+                row(1L, "Funcional", "Cancha 1", "Diego Martínez"),
+                row(2L, "Yoga", "Salón", "Diego Martínez"),
+                row(3L, "Spinning", "Salón", "Laura Gómez")));
+        index.load();
+    }
+
+    @Test
+    void matchesAccentFoldedPrefixesAndInfixes() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("martinez")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("yo")).containsExactly(2L);
+        assertThat(index.search("inning")).containsExactly(3L);
+        assertThat(index.search("yoga gomez")).isEmpty();
+    }
+
+    @Test
+    void ranksNameMatchesAboveLocationMatches() {
+        when(trainingSessionRepository.findSearchRowById(4L))
+                .thenReturn(Collections.<Object[]>singletonList(row(4L, "Clase en Salón", "Cancha 2", "Laura Gómez")));
+        index.onTrainingSessionChanged(sessionEvent(4L, TrainingSessionChangedEvent.ChangeType.CREATED));
+
+        assertThat(index.search("salon")).startsWith(4L).contains(2L, 3L);
+    }
+
+    @Test
+    void reindexesTrainerSessionsWhenTrainerIsRenamed() {
+        when(trainingSessionRepository.findSearchRowsByTrainerId(TRAINER_ID)).thenReturn(List.of(
+                row(1L, "Funcional", "Cancha 1", "Diego Fernández"),
+                row(2L, "Yoga", "Salón", "Diego Fernández")));
+
+        index.onUserChanged(userEvent(UserChangedEvent.ChangeType.PROFILE_UPDATED));
+
+        assertThat(index.search("martinez")).isEmpty();
+        assertThat(index.search("fernandez")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void reindexesTrainerRenamedOnAnotherNode() {
+        when(trainingSessionRepository.findSearchRowsByTrainerId(TRAINER_ID)).thenReturn(List.of(
+                row(1L, "Funcional", "Cancha 1", "Diego Fernández"),
+                row(2L, "Yoga", "Salón", "Diego Fernández")));
+
+        index.apply(ResourceChangeMessage.builder()
+                .originNode("other-node")
+                .resourceType(ResourceType.USER)
+                .userId(TRAINER_ID)
+                .build());
+
+        assertThat(index.search("fernandez")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("martinez")).isEmpty();
+    }
+
+    @Test
+    void ignoresRoleChangesAndDeletions() {
+        index.onUserChanged(userEvent(UserChangedEvent.ChangeType.ROLE_CHANGED));
+        index.onUserChanged(userEvent(UserChangedEvent.ChangeType.DELETED));
+
+        verify(trainingSessionRepository, never()).findSearchRowsByTrainerId(anyLong());
+    }
+
+    @Test
+    void dropsDeletedSession() {
+        when(trainingSessionRepository.findSearchRowById(3L)).thenReturn(List.of());
+
+        index.onTrainingSessionChanged(sessionEvent(3L, TrainingSessionChangedEvent.ChangeType.DELETED));
+
+        assertThat(index.search("spinning")).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(2);
+    }
+
+    private static Object[] row(Long id, String name, String location, String trainer) {
+        return new Object[]{id, name, location, trainer};
+    }
+
+    private static TrainingSessionChangedEvent sessionEvent(Long sessionId, TrainingSessionChangedEvent.ChangeType changeType) {
+        return TrainingSessionChangedEvent.builder()
+                .sessionId(sessionId)
+                .changeType(changeType)
+                .build();
+    }
+
+    private static UserChangedEvent userEvent(UserChangedEvent.ChangeType changeType) {
+        return UserChangedEvent.builder()
+                .userId(TRAINER_ID)
+                .email("diego.martinez@clublosamigos.com")
+                .role(UserRole.ENTRENADOR)
+                .changeType(changeType)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.clublosamigos.turnero.service;
+
+import com.clublosamigos.turnero.dto.message.UserInvalidationMessage;
+import com.clublosamigos.turnero.event.UserChangedEvent;
+import com.clublosamigos.turnero.event.UserChangedEvent.ChangeType;
+import com.clublosamigos.turnero.model.User;
+import com.clublosamigos.turnero.model.User.UserRole;
+import com.clublosamigos.turnero.repository.UserRepository;
+import com.clublosamigos.turnero.security.UserStateCache;
+import com.clublosamigos.turnero.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSnapshotCacheTest {
+
+    private static final String EMAIL = "ana@clublosamigos.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStateCache userStateCache;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private MessageProducerService messageProducerService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserSnapshotCache(userRepository, userStateCache, verifiedTokenCache, messageProducerService,
+                meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        cache.registerMetrics();
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheSnapshot() {
+        when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(user("Ana Lopez")));
+
+        assertThat(cache.findById(1L)).map(UserSnapshotCache.UserSnapshot::getFullName).contains("Ana Lopez");
+        assertThat(cache.findByEmail(EMAIL)).isPresent();
+
+        verify(userRepository, times(1)).findByIdAndIsDeletedFalse(1L);
+        verify(userRepository, never()).findByEmailAndIsDeletedFalse(EMAIL);
+    }
+
+    @Test
+    void fullCacheEvictsSnapshotsNotReadRecently() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        when(userRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(user(1L, "Ana Lopez")));
+        when(userRepository.findByIdAndIsDeletedFalse(2L)).thenReturn(Optional.of(user(2L, "Diego Martínez")));
+        when(userRepository.findByIdAndIsDeletedFalse(3L)).thenReturn(Optional.of(user(3L, "Laura Gómez")));
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(1L);
+
+        cache.findById(3L);
+        cache.findById(3L);
+        cache.findById(1L);
+        cache.findById(2L);
+
+        verify(userRepository, times(1)).findByIdAndIsDeletedFalse(1L);
+        verify(userRepository, times(2)).findByIdAndIsDeletedFalse(2L);
+        verify(userRepository, times(1)).findByIdAndIsDeletedFalse(3L);
+        assertThat(meterRegistry.get("user.cache.evictions").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("user.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void profileChangeEvictsTheSnapshotOnly() {
+        when(userRepository.findByIdAndIsDeletedFalse(1L))
+                .thenReturn(Optional.of(user("Ana Lopez")), Optional.of(user("Ana García")));
+        cache.findById(1L);
+
+        cache.onUserChanged(event(ChangeType.PROFILE_UPDATED));
+
+        assertThat(cache.findById(1L)).map(UserSnapshotCache.UserSnapshot::getFullName).contains("Ana García");
+        verify(userStateCache, never()).recordRoleChange(any(), any(), anyLong());
+        verify(verifiedTokenCache, never()).invalidateSubject(any());
+    }
+
+    @Test
+    void roleChangeRevokesTokensHereAndOnOtherNodes() {
+        cache.onUserChanged(event(ChangeType.ROLE_CHANGED));
+
+        ArgumentCaptor<UserInvalidationMessage> message = ArgumentCaptor.forClass(UserInvalidationMessage.class);
+        verify(messageProducerService).publishUserInvalidation(message.capture());
+        assertThat(message.getValue().getChangedAt()).isPositive();
+        verify(userStateCache).recordRoleChange(EMAIL, UserRole.ENTRENADOR, message.getValue().getChangedAt());
+        verify(verifiedTokenCache).invalidateSubject(EMAIL);
+    }
+
+    @Test
+    void deletionBroadcastByAnotherNodeRevokesTokens() {
+        cache.apply(UserInvalidationMessage.builder()
+                .userId(1L)
+                .email(EMAIL)
+                .changeType(ChangeType.DELETED)
+                .changedAt(1_700_000_000_000L)
+                .build());
+
+        verify(userStateCache).recordDeletion(EMAIL, 1_700_000_000_000L);
+        verify(verifiedTokenCache).invalidateSubject(EMAIL);
+        verify(messageProducerService, never()).publishUserInvalidation(any());
+    }
+
+    private static User user(String fullName) {
+        return user(1L, fullName);
+    }
+
+    private static User user(Long id, String fullName) {
+        return User.builder()
+                .id(id)
+                .email(id == 1L ? EMAIL : "user" + id + "@clublosamigos.com")
+                .fullName(fullName)
+                .password("$2a$10$hash")
+                .role(UserRole.USUARIO)
+                .isDeleted(false)
+                .build();
+    }
+
+    private static UserChangedEvent event(ChangeType changeType) {
+        return UserChangedEvent.builder()
+                .userId(1L)
+                .email(EMAIL)
+                .role(UserRole.ENTRENADOR)
+                .changeType(changeType)
+                .build();
+    }
+}
@@ -20,3 +20,49 @@ export enum BookingStatus {
 export interface CreateBookingRequest {
   trainingSessionId: number;
 }
+
+export type BookingRejectionReason =
+  'NOT_FOUND' | 'NOT_ACTIVE' | 'ALREADY_HAPPENED' | 'ALREADY_STARTED' | 'ALREADY_BOOKED' | 'OVERLAPPING_BOOKING' | 'FULL';
+
+/** Whether a session can be booked; `reason` is the first booking rule it fails */
+export interface BookingEligibility {
+  sessionId: number;
+  eligible: boolean;
+  reason?: BookingRejectionReason;
+  alreadyBooked: boolean;
+  overlapping: boolean;
+  full: boolean;
+  seatsLeft?: number;
+}
+
+export interface SeriesBookingRequest {
+  slotConfigurationId: number;
+  startDate: string;
+  endDate: string;
+}
+
+/** Outcome of a series booking, one occurrence per session of the slot configuration */
+export interface SeriesBooking {
+  slotConfigurationId: number;
+  booked: number;
+  skipped: number;
+  occurrences: SeriesBookingOccurrence[];
+}
+
+export interface SeriesBookingOccurrence {
+  sessionId: number;
+  date: string;
+  startTime: string;
+  booked: boolean;
+  bookingId?: number;
+  reason?: BookingRejectionReason;
+}
+
+/** Subscription to a slot configuration; future sessions generated from it are booked automatically */
+export interface SlotSubscription {
+  id: number;
+  slotConfigurationId: number;
+  slotConfigurationName: string;
+  lastBookedAt?: string;
+  createdAt: string;
+}
@@ -37,3 +37,10 @@ export interface TrainingSessionRequest {
 }
 
 export type UpdateSessionRequest = Partial<TrainingSessionRequest>;
+
+/** Entry of a batch read by id; `found` is false for deleted, unknown or hidden ids */
+export interface BatchItem<T> {
+  id: number;
+  found: boolean;
+  data?: T;
+}
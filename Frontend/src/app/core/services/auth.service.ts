@@ -55,7 +55,8 @@ export class AuthService {
   }
 
   logout(): void {
-    this.http.post(`${this.API_URL}/logout`, {}).subscribe({
+    const refreshToken = this.storageService.getRefreshToken();
+    this.http.post(`${this.API_URL}/logout`, { refreshToken }).subscribe({
       next: () => this.clearSession(),
       error: () => this.clearSession()
     });
@@ -1,7 +1,15 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Booking, CreateBookingRequest } from '../models/booking.model';
+import {
+  Booking,
+  BookingEligibility,
+  CreateBookingRequest,
+  SeriesBooking,
+  SeriesBookingRequest,
+  SlotSubscription
+} from '../models/booking.model';
+import { BatchItem } from '../models/training-session.model';
 import { environment } from '../../../environments/environment';
 
 @Injectable({
@@ -9,6 +17,7 @@ import { environment } from '../../../environments/environment';
 })
 export class BookingService {
   private readonly API_URL = `${environment.apiUrl}/bookings`;
+  private readonly SUBSCRIPTIONS_URL = `${environment.apiUrl}/slot-subscriptions`;
 
   constructor(private http: HttpClient) {}
 
@@ -20,6 +29,23 @@ export class BookingService {
     return this.http.get<Booking>(`${this.API_URL}/${id}`);
   }
 
+  getBookingsByIds(ids: number[]): Observable<BatchItem<Booking>[]> {
+    const params = new HttpParams().set('ids', ids.join(','));
+    return this.http.get<BatchItem<Booking>[]>(this.API_URL, { params });
+  }
+
+  getEligibilityForSessions(sessionIds: number[]): Observable<BookingEligibility[]> {
+    const params = new HttpParams().set('sessionIds', sessionIds.join(','));
+    return this.http.get<BookingEligibility[]>(`${this.API_URL}/eligibility`, { params });
+  }
+
+  getEligibilityBetween(startDate: string, endDate: string): Observable<BookingEligibility[]> {
+    const params = new HttpParams()
+      .set('startDate', startDate)
+      .set('endDate', endDate);
+    return this.http.get<BookingEligibility[]>(`${this.API_URL}/eligibility`, { params });
+  }
+
   getBookingsByUser(userId: number): Observable<Booking[]> {
     return this.http.get<Booking[]>(`${this.API_URL}/user/${userId}`);
   }
@@ -40,6 +66,22 @@ export class BookingService {
     return this.http.post<Booking>(this.API_URL, payload);
   }
 
+  bookSeries(payload: SeriesBookingRequest): Observable<SeriesBooking> {
+    return this.http.post<SeriesBooking>(`${this.API_URL}/series`, payload);
+  }
+
+  getMySlotSubscriptions(): Observable<SlotSubscription[]> {
+    return this.http.get<SlotSubscription[]>(this.SUBSCRIPTIONS_URL);
+  }
+
+  subscribeToSlot(slotConfigurationId: number): Observable<SlotSubscription> {
+    return this.http.post<SlotSubscription>(this.SUBSCRIPTIONS_URL, { slotConfigurationId });
+  }
+
+  unsubscribeFromSlot(slotConfigurationId: number): Observable<void> {
+    return this.http.delete<void>(`${this.SUBSCRIPTIONS_URL}/${slotConfigurationId}`);
+  }
+
   cancelBooking(id: number): Observable<Booking> {
     return this.http.put<Booking>(`${this.API_URL}/${id}/cancel`, {});
   }
@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import {
+  BatchItem,
   TrainingSession,
   TrainingSessionRequest,
   UpdateSessionRequest
@@ -30,6 +31,11 @@ export class TrainingSessionService {
     return this.http.get<TrainingSession>(`${this.API_URL}/${id}`);
   }
 
+  getSessionsByIds(ids: number[]): Observable<BatchItem<TrainingSession>[]> {
+    const params = new HttpParams().set('ids', ids.join(','));
+    return this.http.get<BatchItem<TrainingSession>[]>(this.API_URL, { params });
+  }
+
   getSessionsByTrainer(trainerId: number): Observable<TrainingSession[]> {
     return this.http.get<TrainingSession[]>(`${this.API_URL}/trainer/${trainerId}`);
   }